@@ -27,13 +27,14 @@ import org.apache.commons.text.translate.AggregateTranslator;
 import org.apache.commons.text.translate.CharSequenceTranslator;
 import org.apache.commons.text.translate.CsvTranslators;
 import org.apache.commons.text.translate.EntityArrays;
+import org.apache.commons.text.translate.EntityUnescaper;
+import org.apache.commons.text.translate.JavaUnescaper;
 import org.apache.commons.text.translate.JavaUnicodeEscaper;
 import org.apache.commons.text.translate.LookupTranslator;
 import org.apache.commons.text.translate.NumericEntityEscaper;
-import org.apache.commons.text.translate.NumericEntityUnescaper;
-import org.apache.commons.text.translate.OctalUnescaper;
-import org.apache.commons.text.translate.UnicodeUnescaper;
+import org.apache.commons.text.translate.TableTranslator;
 import org.apache.commons.text.translate.UnicodeUnpairedSurrogateRemover;
+import org.apache.commons.text.translate.Utf8Escaper;
 
 /**
  * <p>
@@ -67,6 +68,8 @@ public class StringEscapeUtils {
      *      .append("&lt;/p&gt;")
      *      .toString()
      * </pre>
+     *
+     * @see org.apache.commons.text.translate.EscaperBuilder
      */
     public static final class Builder {
 
@@ -108,7 +111,7 @@ public class StringEscapeUtils {
          * @return {@code this}, to enable chaining
          */
         public Builder escape(final String input) {
-            sb.append(translator.translate(input));
+            translator.translateTo(input, sb);
             return this;
         }
 
@@ -178,7 +181,7 @@ public class StringEscapeUtils {
                 new LookupTranslator(Collections.unmodifiableMap(escapeJavaMap)),
                 new LookupTranslator(EntityArrays.JAVA_CTRL_CHARS_ESCAPE),
                 JavaUnicodeEscaper.outsideOf(32, 0x7f)
-        );
+        ).compile();
     }
 
     /**
@@ -198,7 +201,7 @@ public class StringEscapeUtils {
                 new LookupTranslator(Collections.unmodifiableMap(escapeEcmaScriptMap)),
                 new LookupTranslator(EntityArrays.JAVA_CTRL_CHARS_ESCAPE),
                 JavaUnicodeEscaper.outsideOf(32, 0x7f)
-        );
+        ).compile();
     }
 
     /**
@@ -217,7 +220,7 @@ public class StringEscapeUtils {
                 new LookupTranslator(Collections.unmodifiableMap(escapeJsonMap)),
                 new LookupTranslator(EntityArrays.JAVA_CTRL_CHARS_ESCAPE),
                 JavaUnicodeEscaper.outsideOf(32, 0x7e)
-        );
+        ).compile();
     }
 
     /**
@@ -267,7 +270,7 @@ public class StringEscapeUtils {
                 NumericEntityEscaper.between(0x7f, 0x84),
                 NumericEntityEscaper.between(0x86, 0x9f),
                 new UnicodeUnpairedSurrogateRemover()
-        );
+        ).compile();
     }
 
     /**
@@ -295,7 +298,7 @@ public class StringEscapeUtils {
                 NumericEntityEscaper.between(0x7f, 0x84),
                 NumericEntityEscaper.between(0x86, 0x9f),
                 new UnicodeUnpairedSurrogateRemover()
-        );
+        ).compile();
     }
 
     /**
@@ -306,9 +309,9 @@ public class StringEscapeUtils {
      * as the foundation for a custom translator.
      */
     public static final CharSequenceTranslator ESCAPE_HTML3 =
-            new AggregateTranslator(
-                    new LookupTranslator(EntityArrays.BASIC_ESCAPE),
-                    new LookupTranslator(EntityArrays.ISO8859_1_ESCAPE)
+            new TableTranslator(
+                    EntityArrays.BASIC_ESCAPE,
+                    EntityArrays.ISO8859_1_ESCAPE
             );
 
     /**
@@ -319,10 +322,10 @@ public class StringEscapeUtils {
      * as the foundation for a custom translator.
      */
     public static final CharSequenceTranslator ESCAPE_HTML4 =
-            new AggregateTranslator(
-                    new LookupTranslator(EntityArrays.BASIC_ESCAPE),
-                    new LookupTranslator(EntityArrays.ISO8859_1_ESCAPE),
-                    new LookupTranslator(EntityArrays.HTML40_EXTENDED_ESCAPE)
+            new TableTranslator(
+                    EntityArrays.BASIC_ESCAPE,
+                    EntityArrays.ISO8859_1_ESCAPE,
+                    EntityArrays.HTML40_EXTENDED_ESCAPE
             );
 
     /**
@@ -334,6 +337,34 @@ public class StringEscapeUtils {
      */
     public static final CharSequenceTranslator ESCAPE_CSV = new CsvTranslators.CsvEscaper();
 
+    /**
+     * Escaper object for escaping Json from UTF-8 bytes to UTF-8 bytes, see {@link #ESCAPE_JSON}.
+     *
+     * @since 1.15.1
+     */
+    public static final Utf8Escaper ESCAPE_JSON_UTF8 = new Utf8Escaper(ESCAPE_JSON);
+
+    /**
+     * Escaper object for escaping XML 1.0 from UTF-8 bytes to UTF-8 bytes, see {@link #ESCAPE_XML10}.
+     *
+     * @since 1.15.1
+     */
+    public static final Utf8Escaper ESCAPE_XML10_UTF8 = new Utf8Escaper(ESCAPE_XML10);
+
+    /**
+     * Escaper object for escaping XML 1.1 from UTF-8 bytes to UTF-8 bytes, see {@link #ESCAPE_XML11}.
+     *
+     * @since 1.15.1
+     */
+    public static final Utf8Escaper ESCAPE_XML11_UTF8 = new Utf8Escaper(ESCAPE_XML11);
+
+    /**
+     * Escaper object for escaping HTML version 4.0 from UTF-8 bytes to UTF-8 bytes, see {@link #ESCAPE_HTML4}.
+     *
+     * @since 1.15.1
+     */
+    public static final Utf8Escaper ESCAPE_HTML4_UTF8 = new Utf8Escaper(ESCAPE_HTML4);
+
     /* UNESCAPE TRANSLATORS */
 
     /**
@@ -378,22 +409,10 @@ public class StringEscapeUtils {
      * While {@link #unescapeJava(String)} is the expected method of use, this
      * object allows the Java unescaping functionality to be used
      * as the foundation for a custom translator.
+     *
+     * @see JavaUnescaper
      */
-    public static final CharSequenceTranslator UNESCAPE_JAVA;
-
-    static {
-        final Map<CharSequence, CharSequence> unescapeJavaMap = new HashMap<>();
-        unescapeJavaMap.put("\\\\", "\\");
-        unescapeJavaMap.put("\\\"", "\"");
-        unescapeJavaMap.put("\\'", "'");
-        unescapeJavaMap.put("\\", StringUtils.EMPTY);
-        UNESCAPE_JAVA = new AggregateTranslator(
-                new OctalUnescaper(),     // .between('\1', '\377'),
-                new UnicodeUnescaper(),
-                new LookupTranslator(EntityArrays.JAVA_CTRL_CHARS_UNESCAPE),
-                new LookupTranslator(Collections.unmodifiableMap(unescapeJavaMap))
-        );
-    }
+    public static final CharSequenceTranslator UNESCAPE_JAVA = new JavaUnescaper();
 
     /**
      * Translator object for unescaping escaped EcmaScript.
@@ -422,10 +441,8 @@ public class StringEscapeUtils {
      */
     public static final CharSequenceTranslator UNESCAPE_HTML3 =
             new AggregateTranslator(
-                    new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
-                    new LookupTranslator(EntityArrays.ISO8859_1_UNESCAPE),
-                    new NumericEntityUnescaper()
-            );
+                    new EntityUnescaper(EntityArrays.BASIC_UNESCAPE, EntityArrays.ISO8859_1_UNESCAPE)
+            ).compile();
 
     /**
      * Translator object for unescaping escaped HTML 4.0.
@@ -436,11 +453,8 @@ public class StringEscapeUtils {
      */
     public static final CharSequenceTranslator UNESCAPE_HTML4 =
             new AggregateTranslator(
-                    new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
-                    new LookupTranslator(EntityArrays.ISO8859_1_UNESCAPE),
-                    new LookupTranslator(EntityArrays.HTML40_EXTENDED_UNESCAPE),
-                    new NumericEntityUnescaper()
-            );
+                    new EntityUnescaper(EntityArrays.BASIC_UNESCAPE, EntityArrays.ISO8859_1_UNESCAPE, EntityArrays.HTML40_EXTENDED_UNESCAPE)
+            ).compile();
 
     /**
      * Translator object for unescaping escaped XML.
@@ -451,10 +465,8 @@ public class StringEscapeUtils {
      */
     public static final CharSequenceTranslator UNESCAPE_XML =
             new AggregateTranslator(
-                    new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
-                    new LookupTranslator(EntityArrays.APOS_UNESCAPE),
-                    new NumericEntityUnescaper()
-            );
+                    new EntityUnescaper(EntityArrays.BASIC_UNESCAPE, EntityArrays.APOS_UNESCAPE)
+            ).compile();
 
     /**
      * Translator object for unescaping escaped Comma Separated Value entries.
@@ -17,12 +17,19 @@
 package org.apache.commons.text;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.text.lookup.StringLookup;
@@ -212,13 +219,330 @@ import org.apache.commons.text.matcher.StringMatcherFactory;
  *
  * <h2>Thread Safety</h2>
  * <p>
- * This class is <strong>not</strong> thread safe.
+ * This class is <strong>not</strong> thread safe. The instances built by {@link #builder()} are immutable, their setters throwing
+ * {@link UnsupportedOperationException}, and can be shared by threads provided their {@link StringLookup} is thread safe.
  * </p>
  *
  * @since 1.3
  */
 public class StringSubstitutor {
 
+    /**
+     * Builds immutable instances of {@link StringSubstitutor}, which can be shared by threads.
+     * <p>
+     * The setters have the same defaults and validation as those of {@link StringSubstitutor}.
+     * </p>
+     *
+     * @see StringSubstitutor#builder()
+     * @since 1.15.1
+     */
+    public static final class Builder implements Supplier<StringSubstitutor> {
+
+        /** The mutable instance holding the settings. */
+        private final StringSubstitutor prototype = new StringSubstitutor();
+
+        /**
+         * Constructs a new instance with the settings of {@link StringSubstitutor#StringSubstitutor()}.
+         */
+        public Builder() {
+            // empty
+        }
+
+        /**
+         * Builds a new immutable instance, its setters throwing {@link UnsupportedOperationException}.
+         *
+         * @return a new immutable instance.
+         */
+        @Override
+        public StringSubstitutor get() {
+            return new StringSubstitutor(new Settings(prototype));
+        }
+
+        /**
+         * Sets a flag whether substitution is done in variable values (recursive).
+         *
+         * @param disableSubstitutionInValues true if substitution in variable value are disabled.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setDisableSubstitutionInValues(boolean)
+         */
+        public Builder setDisableSubstitutionInValues(final boolean disableSubstitutionInValues) {
+            prototype.setDisableSubstitutionInValues(disableSubstitutionInValues);
+            return this;
+        }
+
+        /**
+         * Sets a flag whether substitution is done in variable names.
+         *
+         * @param enableSubstitutionInVariables The new value of the flag.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setEnableSubstitutionInVariables(boolean)
+         */
+        public Builder setEnableSubstitutionInVariables(final boolean enableSubstitutionInVariables) {
+            prototype.setEnableSubstitutionInVariables(enableSubstitutionInVariables);
+            return this;
+        }
+
+        /**
+         * Sets a flag whether exception should be thrown if any variable is undefined.
+         *
+         * @param failOnUndefinedVariable true if exception should be thrown on undefined variable.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setEnableUndefinedVariableException(boolean)
+         */
+        public Builder setEnableUndefinedVariableException(final boolean failOnUndefinedVariable) {
+            prototype.setEnableUndefinedVariableException(failOnUndefinedVariable);
+            return this;
+        }
+
+        /**
+         * Sets the escape character.
+         *
+         * @param escapeChar The escape character (0 for disabling escaping).
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setEscapeChar(char)
+         */
+        public Builder setEscapeChar(final char escapeChar) {
+            prototype.setEscapeChar(escapeChar);
+            return this;
+        }
+
+        /**
+         * Sets a flag controlling whether the substituted values of variables are memoized within one substitution.
+         *
+         * @param memoizeValues true if the substituted values of variables are memoized.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setMemoizeValues(boolean)
+         */
+        public Builder setMemoizeValues(final boolean memoizeValues) {
+            prototype.setMemoizeValues(memoizeValues);
+            return this;
+        }
+
+        /**
+         * Sets a flag controlling whether escapes are preserved during substitution.
+         *
+         * @param preserveEscapes true if escapes are to be preserved.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setPreserveEscapes(boolean)
+         */
+        public Builder setPreserveEscapes(final boolean preserveEscapes) {
+            prototype.setPreserveEscapes(preserveEscapes);
+            return this;
+        }
+
+        /**
+         * Sets the variable default value delimiter to use.
+         *
+         * @param valueDelimiter The variable default value delimiter character to use.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setValueDelimiter(char)
+         */
+        public Builder setValueDelimiter(final char valueDelimiter) {
+            prototype.setValueDelimiter(valueDelimiter);
+            return this;
+        }
+
+        /**
+         * Sets the variable default value delimiter to use.
+         *
+         * @param valueDelimiter The variable default value delimiter string to use, may be null or empty.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setValueDelimiter(String)
+         */
+        public Builder setValueDelimiter(final String valueDelimiter) {
+            prototype.setValueDelimiter(valueDelimiter);
+            return this;
+        }
+
+        /**
+         * Sets the variable default value delimiter matcher to use.
+         *
+         * @param valueDelimiterMatcher The variable default value delimiter matcher to use, may be null.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setValueDelimiterMatcher(StringMatcher)
+         */
+        public Builder setValueDelimiterMatcher(final StringMatcher valueDelimiterMatcher) {
+            prototype.setValueDelimiterMatcher(valueDelimiterMatcher);
+            return this;
+        }
+
+        /**
+         * Sets the variable prefix to use.
+         *
+         * @param prefix The prefix character to use.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setVariablePrefix(char)
+         */
+        public Builder setVariablePrefix(final char prefix) {
+            prototype.setVariablePrefix(prefix);
+            return this;
+        }
+
+        /**
+         * Sets the variable prefix to use.
+         *
+         * @param prefix The prefix for variables, not null.
+         * @return {@code this} instance.
+         * @throws IllegalArgumentException if the prefix is null.
+         * @see StringSubstitutor#setVariablePrefix(String)
+         */
+        public Builder setVariablePrefix(final String prefix) {
+            prototype.setVariablePrefix(prefix);
+            return this;
+        }
+
+        /**
+         * Sets the variable prefix matcher currently in use.
+         *
+         * @param prefixMatcher The prefix matcher to use, null ignored.
+         * @return {@code this} instance.
+         * @throws IllegalArgumentException if the prefix matcher is null.
+         * @see StringSubstitutor#setVariablePrefixMatcher(StringMatcher)
+         */
+        public Builder setVariablePrefixMatcher(final StringMatcher prefixMatcher) {
+            prototype.setVariablePrefixMatcher(prefixMatcher);
+            return this;
+        }
+
+        /**
+         * Sets the VariableResolver that is used to lookup variables, which must be thread-safe for the instances built to be.
+         *
+         * @param variableResolver The VariableResolver.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setVariableResolver(StringLookup)
+         */
+        public Builder setVariableResolver(final StringLookup variableResolver) {
+            prototype.setVariableResolver(variableResolver);
+            return this;
+        }
+
+        /**
+         * Sets the variable suffix to use.
+         *
+         * @param suffix The suffix character to use.
+         * @return {@code this} instance.
+         * @see StringSubstitutor#setVariableSuffix(char)
+         */
+        public Builder setVariableSuffix(final char suffix) {
+            prototype.setVariableSuffix(suffix);
+            return this;
+        }
+
+        /**
+         * Sets the variable suffix to use.
+         *
+         * @param suffix The suffix for variables, not null.
+         * @return {@code this} instance.
+         * @throws IllegalArgumentException if the suffix is null.
+         * @see StringSubstitutor#setVariableSuffix(String)
+         */
+        public Builder setVariableSuffix(final String suffix) {
+            prototype.setVariableSuffix(suffix);
+            return this;
+        }
+
+        /**
+         * Sets the variable suffix matcher currently in use.
+         *
+         * @param suffixMatcher The suffix matcher to use, null ignored.
+         * @return {@code this} instance.
+         * @throws IllegalArgumentException if the suffix matcher is null.
+         * @see StringSubstitutor#setVariableSuffixMatcher(StringMatcher)
+         */
+        public Builder setVariableSuffixMatcher(final StringMatcher suffixMatcher) {
+            prototype.setVariableSuffixMatcher(suffixMatcher);
+            return this;
+        }
+    }
+
+    /**
+     * The variables being resolved by one substitution, to detect cyclic references, and the values of the variables resolved so far when memoized.
+     */
+    private static final class ResolutionStack {
+
+        /** The text the substitution started from, reported with a cycle. */
+        private final String root;
+
+        /** The variables being resolved, in order. */
+        private final List<String> names = new ArrayList<>();
+
+        /** The variables being resolved, for constant time cycle checks. */
+        private final Set<String> nameSet = new HashSet<>();
+
+        /** The substituted values of the variables resolved so far by name, or null if values are not memoized. */
+        private final Map<String, String> values;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param root          the text the substitution started from.
+         * @param memoizeValues whether the substituted values of variables are memoized.
+         */
+        ResolutionStack(final String root, final boolean memoizeValues) {
+            this(root, memoizeValues ? new HashMap<>() : null);
+        }
+
+        /**
+         * Constructs a new instance memoizing values in the given map.
+         *
+         * @param root   the text the substitution started from.
+         * @param values the substituted values of the variables resolved so far by name, may be shared with other substitutions, or null.
+         */
+        ResolutionStack(final String root, final Map<String, String> values) {
+            this.root = root;
+            this.values = values;
+        }
+
+        /**
+         * Gets the memoized substituted value of a variable.
+         *
+         * @param varName the variable name.
+         * @return the substituted value, or null if not memoized.
+         */
+        String getValue(final String varName) {
+            return values != null ? values.get(varName) : null;
+        }
+
+        /**
+         * Removes the last variable pushed.
+         */
+        void pop() {
+            nameSet.remove(names.remove(names.size() - 1));
+        }
+
+        /**
+         * Pushes a variable to resolve.
+         *
+         * @param varName the variable name.
+         * @throws IllegalStateException if the variable is already being resolved.
+         */
+        void push(final String varName) {
+            if (!nameSet.add(varName)) {
+                final TextStringBuilder buf = new TextStringBuilder(256);
+                buf.append("Infinite loop in property interpolation of ");
+                buf.append(root);
+                buf.append(": ");
+                buf.appendWithSeparators(names, "->");
+                throw new IllegalStateException(buf.toString());
+            }
+            names.add(varName);
+        }
+
+        /**
+         * Memoizes the substituted value of a variable if values are memoized.
+         *
+         * @param varName the variable name.
+         * @param builder the builder holding the substituted value.
+         * @param start   the index of the value in the builder.
+         * @param end     the index after the value in the builder.
+         */
+        void putValue(final String varName, final TextStringBuilder builder, final int start, final int end) {
+            if (values != null) {
+                values.put(varName, builder.substring(start, end));
+            }
+        }
+    }
+
     /**
      * The low-level result of a substitution.
      *
@@ -243,6 +567,237 @@ public class StringSubstitutor {
         }
     }
 
+    /**
+     * A part of a {@link Template}: literal text, a variable reference, or a check of the char before a variable prefix.
+     */
+    private static final class Segment {
+
+        /** The literal text, or the text of the variable reference, left in the output when the variable is undefined. */
+        private final String text;
+
+        /** The text between the prefix and the suffix of the variable reference, null for literal text. */
+        private final String nameExpression;
+
+        /** The name of the variable, null when it is resolved from the name expression while rendering. */
+        private final String name;
+
+        /** The default value of the variable, may be null. */
+        private final String defaultValue;
+
+        /**
+         * For a check, the index in the template to resume the substitution at if the output ends with the escape char: right after a variable reference,
+         * whether a variable prefix is escaped depends on the value of the variable. -1 for literal text and variable references.
+         */
+        private final int lookbackIndex;
+
+        /**
+         * Constructs a literal segment.
+         *
+         * @param text the literal text.
+         */
+        private Segment(final String text) {
+            this(text, null, null, null, -1);
+        }
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param text           the literal text or the text of the variable reference.
+         * @param nameExpression the text between the prefix and the suffix, null for literal text.
+         * @param name           the name of the variable, may be null.
+         * @param defaultValue   the default value of the variable, may be null.
+         * @param lookbackIndex  for a check, the index in the template to resume the substitution at, or -1.
+         */
+        private Segment(final String text, final String nameExpression, final String name, final String defaultValue, final int lookbackIndex) {
+            this.text = text;
+            this.nameExpression = nameExpression;
+            this.name = name;
+            this.defaultValue = defaultValue;
+            this.lookbackIndex = lookbackIndex;
+        }
+    }
+
+    /**
+     * The settings read by a substitution, captured once so that the substitution loops read final fields.
+     */
+    private static final class Settings {
+
+        /** The variable prefix matcher. */
+        private final StringMatcher prefixMatcher;
+
+        /** The variable suffix matcher. */
+        private final StringMatcher suffixMatcher;
+
+        /** The escape char. */
+        private final char escapeChar;
+
+        /** The value delimiter matcher, may be null. */
+        private final StringMatcher valueDelimiterMatcher;
+
+        /** Whether variable names are substituted. */
+        private final boolean substitutionInVariablesEnabled;
+
+        /** Whether values are not substituted. */
+        private final boolean substitutionInValuesDisabled;
+
+        /** Whether an undefined variable throws an exception. */
+        private final boolean undefinedVariableException;
+
+        /** Whether escapes are preserved. */
+        private final boolean preserveEscapes;
+
+        /** Whether the substituted values of variables are memoized within one substitution. */
+        private final boolean memoizeValues;
+
+        /** The variable resolver, may be null. */
+        private final StringLookup stringLookup;
+
+        /**
+         * Constructs a new instance with the current settings of a substitutor.
+         *
+         * @param substitutor the substitutor.
+         */
+        Settings(final StringSubstitutor substitutor) {
+            this.prefixMatcher = substitutor.getVariablePrefixMatcher();
+            this.suffixMatcher = substitutor.getVariableSuffixMatcher();
+            this.escapeChar = substitutor.getEscapeChar();
+            this.valueDelimiterMatcher = substitutor.getValueDelimiterMatcher();
+            this.substitutionInVariablesEnabled = substitutor.isEnableSubstitutionInVariables();
+            this.substitutionInValuesDisabled = substitutor.isDisableSubstitutionInValues();
+            this.undefinedVariableException = substitutor.isEnableUndefinedVariableException();
+            this.preserveEscapes = substitutor.isPreserveEscapes();
+            this.memoizeValues = substitutor.isMemoizeValues();
+            this.stringLookup = substitutor.getStringLookup();
+        }
+    }
+
+    /**
+     * A template parsed once by {@link StringSubstitutor#compile(String)}, rendered any number of times.
+     * <p>
+     * The template holds the literal text and the variable references found by the scan of {@link StringSubstitutor#replace(String)}, so that rendering
+     * only resolves the variables and appends the parts. Values are substituted recursively like {@code replace} does, and the output is the same. In the
+     * rare case where a resolved value ends with the escape char right before a variable reference, escaping it, the rest of the template is handed to the
+     * substitution of {@code replace}.
+     * </p>
+     * <p>
+     * A template renders with the settings of the substitutor at the time of compiling, including its variable resolver; changing them afterwards is not
+     * supported. A subclass of {@link StringSubstitutor} resolves variables through its {@code resolveVariable} method. A template is as thread safe as the
+     * substitutor.
+     * </p>
+     *
+     * @since 1.15.1
+     */
+    public static final class Template {
+
+        /** The substitutor resolving the variables. */
+        private final StringSubstitutor substitutor;
+
+        /** The template text. */
+        private final String source;
+
+        /** The template text as the first variable reference is found, the root of the cycles reported. */
+        private final String root;
+
+        /** The parts of the template. */
+        private final Segment[] segments;
+
+        /** The settings at the time of compiling. */
+        private final Settings settings;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param substitutor the substitutor resolving the variables.
+         * @param source      the template text.
+         * @param root        the template text as the first variable reference is found.
+         * @param segments    the parts of the template.
+         * @param settings    the settings at the time of compiling.
+         */
+        private Template(final StringSubstitutor substitutor, final String source, final String root, final Segment[] segments, final Settings settings) {
+            this.substitutor = substitutor;
+            this.source = source;
+            this.root = root;
+            this.segments = segments;
+            this.settings = settings;
+        }
+
+        /**
+         * Gets the template text.
+         *
+         * @return the template text.
+         */
+        public String getSource() {
+            return source;
+        }
+
+        /**
+         * Renders the template, replacing the variable references with their values like {@link StringSubstitutor#replace(String)}.
+         *
+         * @return the rendered text.
+         * @throws IllegalArgumentException if a variable is not found and undefined variables throw an exception.
+         * @throws IllegalStateException if the values of variables reference each other in a cycle.
+         */
+        public String render() {
+            if (segments.length == 1 && segments[0].nameExpression == null) {
+                return segments[0].text;
+            }
+            final TextStringBuilder builder = new TextStringBuilder(source.length() + 32);
+            ResolutionStack priorVariables = null;
+            for (final Segment segment : segments) {
+                if (segment.lookbackIndex >= 0) {
+                    if (builder.length() > 0 && builder.charAt(builder.length() - 1) == settings.escapeChar) {
+                        // the value before escapes the variable prefix, let the substitution take it from here
+                        final int start = builder.length();
+                        builder.append(source, segment.lookbackIndex, source.length() - segment.lookbackIndex);
+                        substitutor.substitute(builder, 0, builder.length(), start, priorVariables, settings);
+                        return builder.toString();
+                    }
+                    continue;
+                }
+                if (segment.nameExpression == null) {
+                    builder.append(segment.text);
+                    continue;
+                }
+                // on the first variable initialize priorVariables
+                if (priorVariables == null) {
+                    priorVariables = new ResolutionStack(root, settings.memoizeValues);
+                }
+                renderVariable(segment, builder, priorVariables);
+            }
+            return builder.toString();
+        }
+
+        /**
+         * Appends the value of a variable reference to the output.
+         *
+         * @param segment        the variable reference.
+         * @param builder        the output.
+         * @param priorVariables the stack keeping track of the replaced variables.
+         */
+        private void renderVariable(final Segment segment, final TextStringBuilder builder, final ResolutionStack priorVariables) {
+            String varName = segment.name;
+            String varDefaultValue = segment.defaultValue;
+            if (settings.substitutionInVariablesEnabled) {
+                final TextStringBuilder bufName = new TextStringBuilder(segment.nameExpression);
+                substitutor.substituteName(bufName, settings);
+                final String[] parsed = parseVariable(bufName.toString(), settings.prefixMatcher, settings.valueDelimiterMatcher, true);
+                varName = parsed[0];
+                varDefaultValue = parsed[1];
+            }
+            substitutor.appendVariable(builder, segment.text, 0, segment.text.length(), varName, varDefaultValue, priorVariables, settings);
+        }
+
+        /**
+         * Gets the template text.
+         *
+         * @return the template text.
+         */
+        @Override
+        public String toString() {
+            return source;
+        }
+    }
+
     /**
      * Constant for the default escape character.
      */
@@ -285,6 +840,16 @@ public class StringSubstitutor {
     public static final StringMatcher DEFAULT_VALUE_DELIMITER = StringMatcherFactory.INSTANCE
         .stringMatcher(DEFAULT_VAR_DEFAULT);
 
+    /**
+     * Constructs a new {@link Builder} of immutable instances.
+     *
+     * @return a new {@link Builder}.
+     * @since 1.15.1
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
     /**
      * Creates a new instance using the interpolator string lookup
      * {@link StringLookupFactory#interpolatorStringLookup()}.
@@ -390,6 +955,34 @@ public class StringSubstitutor {
         return new StringSubstitutor(StringLookupFactory.INSTANCE.interpolatorStringLookup());
     }
 
+    /**
+     * Parses a variable name expression into the variable name and its default value, the text after the value delimiter.
+     *
+     * @param varNameExpr                    The variable name expression.
+     * @param prefixMatcher                  The variable prefix matcher.
+     * @param valueDelimMatcher              The value delimiter matcher, may be null.
+     * @param substitutionInVariablesEnabled Whether a nested variable before the delimiter leaves the default value undefined.
+     * @return The variable name and the default value, which may be null.
+     */
+    private static String[] parseVariable(final String varNameExpr, final StringMatcher prefixMatcher, final StringMatcher valueDelimMatcher,
+            final boolean substitutionInVariablesEnabled) {
+        if (valueDelimMatcher != null) {
+            final char[] varNameExprChars = varNameExpr.toCharArray();
+            for (int i = 0; i < varNameExprChars.length; i++) {
+                // if there's any nested variable when nested variable substitution disabled,
+                // then stop resolving name and default value.
+                if (!substitutionInVariablesEnabled && prefixMatcher.isMatch(varNameExprChars, i, i, varNameExprChars.length) != 0) {
+                    break;
+                }
+                final int valueDelimiterMatchLen = valueDelimMatcher.isMatch(varNameExprChars, i, 0, varNameExprChars.length);
+                if (valueDelimiterMatchLen != 0) {
+                    return new String[] { varNameExpr.substring(0, i), varNameExpr.substring(i + valueDelimiterMatchLen) };
+                }
+            }
+        }
+        return new String[] { varNameExpr, null };
+    }
+
     /**
      * Replaces all the occurrences of variables in the given source object with their matching values from the map.
      *
@@ -469,6 +1062,11 @@ public class StringSubstitutor {
      */
     private char escapeChar;
 
+    /**
+     * Whether the substituted values of variables are memoized within one substitution.
+     */
+    private boolean memoizeValues;
+
     /**
      * Stores the variable prefix.
      */
@@ -494,6 +1092,11 @@ public class StringSubstitutor {
      */
     private StringLookup variableResolver;
 
+    /**
+     * The settings of an immutable instance, null if this instance is mutable.
+     */
+    private final Settings immutableSettings;
+
     /**
      * Constructs a new instance with defaults for variable prefix and suffix and the escaping character.
      */
@@ -576,6 +1179,7 @@ public class StringSubstitutor {
      */
     public StringSubstitutor(final StringLookup variableResolver, final String prefix, final String suffix,
         final char escape) {
+        immutableSettings = null;
         setVariableResolver(variableResolver);
         setVariablePrefix(prefix);
         setVariableSuffix(suffix);
@@ -595,6 +1199,7 @@ public class StringSubstitutor {
      */
     public StringSubstitutor(final StringLookup variableResolver, final String prefix, final String suffix,
         final char escape, final String valueDelimiter) {
+        immutableSettings = null;
         setVariableResolver(variableResolver);
         setVariablePrefix(prefix);
         setVariableSuffix(suffix);
@@ -628,6 +1233,7 @@ public class StringSubstitutor {
      */
     public StringSubstitutor(final StringLookup variableResolver, final StringMatcher prefixMatcher,
         final StringMatcher suffixMatcher, final char escape, final StringMatcher valueDelimiterMatcher) {
+        immutableSettings = null;
         setVariableResolver(variableResolver);
         setVariablePrefixMatcher(prefixMatcher);
         setVariableSuffixMatcher(suffixMatcher);
@@ -642,10 +1248,12 @@ public class StringSubstitutor {
      * @since 1.9
      */
     public StringSubstitutor(final StringSubstitutor other) {
+        immutableSettings = null;
         disableSubstitutionInValues = other.isDisableSubstitutionInValues();
         enableSubstitutionInVariables = other.isEnableSubstitutionInVariables();
         failOnUndefinedVariable = other.isEnableUndefinedVariableException();
         escapeChar = other.getEscapeChar();
+        memoizeValues = other.isMemoizeValues();
         prefixMatcher = other.getVariablePrefixMatcher();
         preserveEscapes = other.isPreserveEscapes();
         suffixMatcher = other.getVariableSuffixMatcher();
@@ -654,21 +1262,179 @@ public class StringSubstitutor {
     }
 
     /**
-     * Checks if the specified variable is already in the stack (list) of variables.
+     * Creates a new immutable instance, its getters reading the final fields of the given settings.
      *
-     * @param varName The variable name to check
-     * @param priorVariables The list of prior variables
+     * @param immutableSettings The settings of the instance.
      */
-    private void checkCyclicSubstitution(final String varName, final List<String> priorVariables) {
-        if (!priorVariables.contains(varName)) {
-            return;
+    private StringSubstitutor(final Settings immutableSettings) {
+        this.immutableSettings = immutableSettings;
+    }
+
+    /**
+     * Appends the value of a variable reference to a builder holding the text before the reference, substituting the variables of the value unless
+     * disabled.
+     *
+     * @param builder                        The builder holding the text before the reference.
+     * @param text                           The text holding the reference.
+     * @param start                          The index of the reference in the text.
+     * @param end                            The index after the reference in the text.
+     * @param varName                        The variable name.
+     * @param varDefaultValue                The default value of the variable, may be null.
+     * @param priorVariables                 The stack keeping track of the replaced variables.
+     * @param settings                       The settings of the substitution.
+     * @return Whether the reference is replaced by a value, it is appended as is otherwise.
+     */
+    private boolean appendVariable(final TextStringBuilder builder, final CharSequence text, final int start, final int end, final String varName,
+            final String varDefaultValue, final ResolutionStack priorVariables, final Settings settings) {
+        final String memoized = priorVariables.getValue(varName);
+        if (memoized != null) {
+            builder.append(memoized);
+            return true;
+        }
+        // handle cyclic substitution
+        priorVariables.push(varName);
+        // resolve the variable, the builder holding the reference like it does in substitute()
+        final int startPos = builder.length();
+        builder.append(text, start, end);
+        String varValue = resolveVariable(varName, builder, startPos, builder.length(), settings);
+        final boolean resolved = varValue != null;
+        if (!resolved) {
+            varValue = varDefaultValue;
+        }
+        if (varValue != null) {
+            builder.setLength(startPos);
+            builder.append(varValue);
+            if (!settings.substitutionInValuesDisabled) { // recursive replace
+                substitute(builder, startPos, varValue.length(), priorVariables, settings);
+            }
+            if (resolved) {
+                priorVariables.putValue(varName, builder, startPos, builder.length());
+            }
+        } else if (settings.undefinedVariableException) {
+            throw new IllegalArgumentException(String.format("Cannot resolve variable '%s' (enableSubstitutionInVariables=%s).", varName,
+                    settings.substitutionInVariablesEnabled));
+        }
+        // remove variable from the cyclic stack
+        priorVariables.pop();
+        return varValue != null;
+    }
+
+    /**
+     * Checks that this instance can be altered.
+     *
+     * @throws UnsupportedOperationException if this instance is immutable.
+     */
+    private void checkMutable() {
+        if (immutableSettings != null) {
+            throw new UnsupportedOperationException("This StringSubstitutor is immutable, see StringSubstitutor.builder()");
+        }
+    }
+
+    /**
+     * Parses a template once for rendering it many times, with the same output as {@link #replace(String)}.
+     * <p>
+     * The template is scanned for variable references with the current settings of this instance, variable resolver included; rendering the returned
+     * {@link Template} resolves the variables and appends the literal text between them, without scanning it again. This pays off for templates rendered
+     * repeatedly, such as configuration and e-mail templates.
+     * </p>
+     *
+     * @param template The template text, not null.
+     * @return The parsed template.
+     * @since 1.15.1
+     */
+    public Template compile(final String template) {
+        Objects.requireNonNull(template, "template");
+        final Settings settings = getSettings();
+        final StringMatcher prefixMatcher = settings.prefixMatcher;
+        final StringMatcher suffixMatcher = settings.suffixMatcher;
+        final char escapeCh = settings.escapeChar;
+        final StringMatcher valueDelimMatcher = settings.valueDelimiterMatcher;
+        final boolean substitutionInVariablesEnabled = settings.substitutionInVariablesEnabled;
+        final boolean preserveEscapes = settings.preserveEscapes;
+        final List<Segment> segments = new ArrayList<>();
+        // the same scan as substitute(), deleting escape chars but leaving variable references in place
+        final TextStringBuilder builder = new TextStringBuilder(template);
+        int bufEnd = builder.length();
+        int pos = 0;
+        int escPos = -1;
+        int deleted = 0;
+        int literalStart = 0;
+        int variableEnd = -1;
+        String root = null;
+        outer: while (pos < bufEnd) {
+            final int startMatchLen = prefixMatcher.isMatch(builder, pos, 0, bufEnd);
+            if (startMatchLen == 0) {
+                pos++;
+                continue;
+            }
+            if (pos == variableEnd) {
+                // right after a variable reference the char before is the last one of its value, check it while rendering
+                segments.add(new Segment("", null, null, null, pos + deleted));
+            } else if (pos > 0 && builder.charAt(pos - 1) == escapeCh) {
+                // escape detected
+                if (preserveEscapes) {
+                    // keep escape
+                    pos++;
+                    continue;
+                }
+                // mark esc ch for deletion if we find a complete variable
+                escPos = pos - 1;
+            }
+            // find suffix
+            int startPos = pos;
+            pos += startMatchLen;
+            int endMatchLen = 0;
+            int nestedVarCount = 0;
+            while (pos < bufEnd) {
+                if (substitutionInVariablesEnabled && prefixMatcher.isMatch(builder, pos, 0, bufEnd) != 0) {
+                    // found a nested variable start
+                    endMatchLen = prefixMatcher.isMatch(builder, pos, 0, bufEnd);
+                    nestedVarCount++;
+                    pos += endMatchLen;
+                    continue;
+                }
+                endMatchLen = suffixMatcher.isMatch(builder, pos, 0, bufEnd);
+                if (endMatchLen == 0) {
+                    pos++;
+                } else {
+                    // found variable end marker
+                    if (nestedVarCount == 0) {
+                        if (escPos >= 0) {
+                            final boolean escapedVariableStartsWithNestedPrefix = prefixMatcher.isMatch(builder, startPos + startMatchLen, 0, bufEnd) != 0;
+                            final boolean hasOuterSuffix = hasLaterSuffix(builder, pos + endMatchLen, 0, bufEnd, suffixMatcher);
+                            pos = escapedVariableStartsWithNestedPrefix && !hasOuterSuffix ? escPos : startPos + 1;
+                            // delete escape
+                            builder.deleteCharAt(escPos);
+                            escPos = -1;
+                            deleted++;
+                            bufEnd--;
+                            startPos--;
+                            continue outer;
+                        }
+                        if (root == null) {
+                            root = builder.toString();
+                        }
+                        if (startPos > literalStart) {
+                            segments.add(new Segment(builder.midString(literalStart, startPos - literalStart)));
+                        }
+                        final String varNameExpr = builder.midString(startPos + startMatchLen, pos - startPos - startMatchLen);
+                        pos += endMatchLen;
+                        final String[] parsed = substitutionInVariablesEnabled ? new String[2]
+                                : parseVariable(varNameExpr, prefixMatcher, valueDelimMatcher, false);
+                        segments.add(new Segment(builder.midString(startPos, pos - startPos), varNameExpr, parsed[0], parsed[1], -1));
+                        literalStart = pos;
+                        variableEnd = pos;
+                        break;
+                    }
+                    nestedVarCount--;
+                    pos += endMatchLen;
+                }
+            }
         }
-        final TextStringBuilder buf = new TextStringBuilder(256);
-        buf.append("Infinite loop in property interpolation of ");
-        buf.append(priorVariables.remove(0));
-        buf.append(": ");
-        buf.appendWithSeparators(priorVariables, "->");
-        throw new IllegalStateException(buf.toString());
+        if (literalStart < bufEnd || segments.isEmpty()) {
+            segments.add(new Segment(deleted == 0 && literalStart == 0 ? template : builder.midString(literalStart, bufEnd - literalStart)));
+        }
+        return new Template(this, template, root, segments.toArray(new Segment[0]), settings);
     }
 
     /**
@@ -677,7 +1443,16 @@ public class StringSubstitutor {
      * @return The character used for escaping variable references.
      */
     public char getEscapeChar() {
-        return escapeChar;
+        return immutableSettings != null ? immutableSettings.escapeChar : escapeChar;
+    }
+
+    /**
+     * Gets the settings a substitution reads: those of an immutable instance, or the current ones.
+     *
+     * @return the settings.
+     */
+    private Settings getSettings() {
+        return immutableSettings != null ? immutableSettings : new Settings(this);
     }
 
     /**
@@ -686,7 +1461,7 @@ public class StringSubstitutor {
      * @return The StringLookup.
      */
     public StringLookup getStringLookup() {
-        return variableResolver;
+        return immutableSettings != null ? immutableSettings.stringLookup : variableResolver;
     }
 
     /**
@@ -702,7 +1477,7 @@ public class StringSubstitutor {
      * @return The variable default value delimiter matcher in use, may be null.
      */
     public StringMatcher getValueDelimiterMatcher() {
-        return valueDelimiterMatcher;
+        return immutableSettings != null ? immutableSettings.valueDelimiterMatcher : valueDelimiterMatcher;
     }
 
     /**
@@ -715,7 +1490,7 @@ public class StringSubstitutor {
      * @return The prefix matcher in use
      */
     public StringMatcher getVariablePrefixMatcher() {
-        return prefixMatcher;
+        return immutableSettings != null ? immutableSettings.prefixMatcher : prefixMatcher;
     }
 
     /**
@@ -728,7 +1503,7 @@ public class StringSubstitutor {
      * @return The suffix matcher in use
      */
     public StringMatcher getVariableSuffixMatcher() {
-        return suffixMatcher;
+        return immutableSettings != null ? immutableSettings.suffixMatcher : suffixMatcher;
     }
 
     /**
@@ -773,7 +1548,7 @@ public class StringSubstitutor {
      * @return The substitution in variable values flag.
      */
     public boolean isDisableSubstitutionInValues() {
-        return disableSubstitutionInValues;
+        return immutableSettings != null ? immutableSettings.substitutionInValuesDisabled : disableSubstitutionInValues;
     }
 
     /**
@@ -782,7 +1557,7 @@ public class StringSubstitutor {
      * @return The substitution in variable names flag.
      */
     public boolean isEnableSubstitutionInVariables() {
-        return enableSubstitutionInVariables;
+        return immutableSettings != null ? immutableSettings.substitutionInVariablesEnabled : enableSubstitutionInVariables;
     }
 
     /**
@@ -791,7 +1566,17 @@ public class StringSubstitutor {
      * @return The fail on undefined variable flag.
      */
     public boolean isEnableUndefinedVariableException() {
-        return failOnUndefinedVariable;
+        return immutableSettings != null ? immutableSettings.undefinedVariableException : failOnUndefinedVariable;
+    }
+
+    /**
+     * Returns the flag controlling whether the substituted values of variables are memoized within one substitution.
+     *
+     * @return The memoize values flag.
+     * @since 1.15.1
+     */
+    public boolean isMemoizeValues() {
+        return immutableSettings != null ? immutableSettings.memoizeValues : memoizeValues;
     }
 
     /**
@@ -800,7 +1585,7 @@ public class StringSubstitutor {
      * @return The preserve escape flag.
      */
     public boolean isPreserveEscapes() {
-        return preserveEscapes;
+        return immutableSettings != null ? immutableSettings.preserveEscapes : preserveEscapes;
     }
 
     /**
@@ -900,6 +1685,105 @@ public class StringSubstitutor {
         return buf.toString();
     }
 
+    /**
+     * Replaces the variable references of a String in a single forward pass, appending the literal text and the values to a new builder instead of
+     * replacing the references in a copy of the source, which shifts the text after each reference.
+     * <p>
+     * The output is the same as the one of {@link #substitute(TextStringBuilder, int, int)}. When an escaped variable prefix is found, the builder is
+     * completed with the rest of the source and substituted from there, since escapes are deleted in place.
+     * </p>
+     *
+     * @param source The string to replace in, not null.
+     * @return The result of the replace operation, the source itself if nothing is replaced.
+     */
+    private String replaceAppending(final String source) {
+        final Settings settings = getSettings();
+        final StringMatcher prefixMatcher = settings.prefixMatcher;
+        final StringMatcher suffixMatcher = settings.suffixMatcher;
+        final char escapeCh = settings.escapeChar;
+        final StringMatcher valueDelimMatcher = settings.valueDelimiterMatcher;
+        final boolean substitutionInVariablesEnabled = settings.substitutionInVariablesEnabled;
+        final boolean preserveEscapes = settings.preserveEscapes;
+        final int bufEnd = source.length();
+        int pos = 0;
+        while (pos < bufEnd && prefixMatcher.isMatch(source, pos, 0, bufEnd) == 0) {
+            pos++;
+        }
+        if (pos == bufEnd) {
+            return source;
+        }
+        final TextStringBuilder builder = new TextStringBuilder(bufEnd + 32);
+        ResolutionStack priorVariables = null;
+        boolean altered = false;
+        int literalStart = 0;
+        outer: while (pos < bufEnd) {
+            final int startMatchLen = prefixMatcher.isMatch(source, pos, 0, bufEnd);
+            if (startMatchLen == 0) {
+                pos++;
+                continue;
+            }
+            // the char before the prefix in the text substitute() works on: the builder ends with the value of a variable right after its reference
+            final int builderPos = builder.length() + pos - literalStart;
+            if (builderPos > 0 && (pos > literalStart ? source.charAt(pos - 1) : builder.charAt(builder.length() - 1)) == escapeCh) {
+                // escape detected
+                if (preserveEscapes) {
+                    // keep escape
+                    pos++;
+                    continue;
+                }
+                // escapes are deleted in place, substitute the rest
+                builder.append(source, literalStart, bufEnd - literalStart);
+                return substitute(builder, 0, builder.length(), builderPos, priorVariables, settings).altered || altered ? builder.toString() : source;
+            }
+            // find suffix
+            final int startPos = pos;
+            pos += startMatchLen;
+            int endMatchLen = 0;
+            int nestedVarCount = 0;
+            while (pos < bufEnd) {
+                if (substitutionInVariablesEnabled && prefixMatcher.isMatch(source, pos, 0, bufEnd) != 0) {
+                    // found a nested variable start
+                    endMatchLen = prefixMatcher.isMatch(source, pos, 0, bufEnd);
+                    nestedVarCount++;
+                    pos += endMatchLen;
+                    continue;
+                }
+                endMatchLen = suffixMatcher.isMatch(source, pos, 0, bufEnd);
+                if (endMatchLen == 0) {
+                    pos++;
+                } else {
+                    // found variable end marker
+                    if (nestedVarCount == 0) {
+                        builder.append(source, literalStart, startPos - literalStart);
+                        // get var name
+                        String varNameExpr = source.substring(startPos + startMatchLen, pos);
+                        if (substitutionInVariablesEnabled) {
+                            final TextStringBuilder bufName = new TextStringBuilder(varNameExpr);
+                            substituteName(bufName, settings);
+                            varNameExpr = bufName.toString();
+                        }
+                        pos += endMatchLen;
+                        final String[] parsed = parseVariable(varNameExpr, prefixMatcher, valueDelimMatcher, substitutionInVariablesEnabled);
+                        // on the first call initialize priorVariables
+                        if (priorVariables == null) {
+                            priorVariables = new ResolutionStack(source, settings.memoizeValues);
+                        }
+                        altered |= appendVariable(builder, source, startPos, pos, parsed[0], parsed[1], priorVariables, settings);
+                        literalStart = pos;
+                        continue outer;
+                    }
+                    nestedVarCount--;
+                    pos += endMatchLen;
+                }
+            }
+        }
+        if (!altered) {
+            return source;
+        }
+        builder.append(source, literalStart, bufEnd - literalStart);
+        return builder.toString();
+    }
+
     /**
      * Replaces all the occurrences of variables with their matching values from the resolver using the given source
      * string as a template.
@@ -912,6 +1796,10 @@ public class StringSubstitutor {
         if (source == null) {
             return null;
         }
+        if (getClass() == StringSubstitutor.class) {
+            // only trust this class itself, a subclass may override substitute()
+            return replaceAppending(source);
+        }
         final TextStringBuilder buf = new TextStringBuilder(source);
         if (!substitute(buf, 0, source.length())) {
             return source;
@@ -1141,6 +2029,117 @@ public class StringSubstitutor {
         return substitute(source, offset, length);
     }
 
+    /**
+     * Resolves the values of all the entries of a map, which reference each other as variables.
+     * <p>
+     * A variable named like a key of the map resolves to the value of the entry, variables the map does not hold are resolved by this instance. Entries
+     * are resolved depth first as they are referenced rather than sorted up front, the resolved value of each entry being memoized, so that each entry is
+     * resolved once, unlike replacing the value of each entry in turn which resolves shared references again and again.
+     * </p>
+     *
+     * @param map the entries to resolve, not altered, a null value is left null.
+     * @return the resolved entries, in the iteration order of the map.
+     * @throws IllegalArgumentException if a variable is not found and undefined variables throw an exception.
+     * @throws IllegalStateException if entries reference each other in a cycle, the message holding the path of the cycle.
+     * @see #resolveAll(Map, boolean)
+     * @since 1.15.1
+     */
+    public Map<String, String> resolveAll(final Map<String, String> map) {
+        return resolveAll(map, false);
+    }
+
+    /**
+     * Resolves the values of all the entries of a map, which reference each other as variables, optionally in parallel.
+     * <p>
+     * A variable named like a key of the map resolves to the value of the entry, variables the map does not hold are resolved by this instance. Entries
+     * are resolved depth first as they are referenced rather than sorted up front, the resolved value of each entry being memoized, so that each entry is
+     * resolved once, unlike replacing the value of each entry in turn which resolves shared references again and again.
+     * </p>
+     * <p>
+     * In parallel, entries are resolved by the common fork join pool, each task resolving the entries its entry references that are not resolved yet,
+     * so that independent entries are resolved concurrently while an entry shared by concurrent tasks may be resolved more than once. When entries fail, the
+     * exception of the first one in the iteration order of the map is thrown, like sequentially. This instance must not be altered and its lookup must be
+     * thread-safe.
+     * </p>
+     *
+     * @param map      the entries to resolve, not altered, a null value is left null.
+     * @param parallel whether to resolve entries in parallel.
+     * @return the resolved entries, in the iteration order of the map.
+     * @throws IllegalArgumentException if a variable is not found and undefined variables throw an exception.
+     * @throws IllegalStateException if entries reference each other in a cycle, the message holding the path of the cycle.
+     * @since 1.15.1
+     */
+    public Map<String, String> resolveAll(final Map<String, String> map, final boolean parallel) {
+        Objects.requireNonNull(map, "map");
+        // variables named like the keys resolve to the values of the map
+        final StringSubstitutor substitutor = new StringSubstitutor(this) {
+            @Override
+            protected String resolveVariable(final String variableName, final TextStringBuilder buf, final int startPos, final int endPos) {
+                final String value = map.get(variableName);
+                return value != null ? value : StringSubstitutor.this.resolveVariable(variableName, buf, startPos, endPos);
+            }
+        };
+        final String[] keys = map.keySet().toArray(new String[0]);
+        final String[] values = new String[keys.length];
+        final Map<String, String> resolved = parallel ? new ConcurrentHashMap<>() : new HashMap<>();
+        final Settings settings = substitutor.getSettings();
+        if (parallel) {
+            final RuntimeException[] failures = new RuntimeException[keys.length];
+            IntStream.range(0, keys.length).parallel().forEach(i -> {
+                try {
+                    values[i] = substitutor.resolveEntry(keys[i], map.get(keys[i]), resolved, settings);
+                } catch (final RuntimeException e) {
+                    failures[i] = e;
+                }
+            });
+            // the failure of the first entry, whichever thread failed first
+            for (final RuntimeException failure : failures) {
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        } else {
+            for (int i = 0; i < keys.length; i++) {
+                values[i] = substitutor.resolveEntry(keys[i], map.get(keys[i]), resolved, settings);
+            }
+        }
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            result.put(keys[i], values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the value of an entry of a map, memoizing the values of the entries and variables resolved.
+     *
+     * @param key      the key of the entry.
+     * @param value    the value of the entry, may be null.
+     * @param resolved the substituted values of the entries and variables resolved so far by name.
+     * @param settings the settings of the substitution.
+     * @return the resolved value, null if the value is null.
+     */
+    private String resolveEntry(final String key, final String value, final Map<String, String> resolved, final Settings settings) {
+        if (value == null) {
+            return null;
+        }
+        final TextStringBuilder builder = new TextStringBuilder(value);
+        if (settings.substitutionInValuesDisabled) {
+            // a reference resolves to the value of the entry as is: the entry referencing itself is no cycle, and there is nothing to share
+            substitute(builder, 0, builder.length(), null, settings);
+            return builder.toString();
+        }
+        final String memoized = resolved.get(key);
+        if (memoized != null) {
+            return memoized;
+        }
+        final ResolutionStack priorVariables = new ResolutionStack(key, resolved);
+        priorVariables.push(key);
+        substitute(builder, 0, builder.length(), priorVariables, settings);
+        priorVariables.putValue(key, builder, 0, builder.length());
+        return builder.toString();
+    }
+
     /**
      * Internal method that resolves the value of a variable.
      * <p>
@@ -1168,13 +2167,38 @@ public class StringSubstitutor {
         return resolver.apply(variableName);
     }
 
+    /**
+     * Resolves the value of a variable with the variable resolver of the settings, or with {@link #resolveVariable(String, TextStringBuilder, int, int)}
+     * for a subclass.
+     *
+     * @param variableName The name of the variable, not null.
+     * @param buf          The buffer where the substitution is occurring, not null.
+     * @param startPos     The start position of the variable including the prefix, valid.
+     * @param endPos       The end position of the variable including the suffix, valid.
+     * @param settings     The settings of the substitution.
+     * @return The variable's value or {@code null} if the variable is unknown.
+     */
+    private String resolveVariable(final String variableName, final TextStringBuilder buf, final int startPos, final int endPos, final Settings settings) {
+        if (getClass() != StringSubstitutor.class) {
+            // a subclass may override resolveVariable() or getStringLookup()
+            return resolveVariable(variableName, buf, startPos, endPos);
+        }
+        final StringLookup resolver = settings.stringLookup;
+        if (resolver == null) {
+            return null;
+        }
+        return resolver.apply(variableName);
+    }
+
     /**
      * Sets a flag whether substitution is done in variable values (recursive).
      *
      * @param disableSubstitutionInValues true if substitution in variable value are disabled.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setDisableSubstitutionInValues(final boolean disableSubstitutionInValues) {
+        checkMutable();
         this.disableSubstitutionInValues = disableSubstitutionInValues;
         return this;
     }
@@ -1186,8 +2210,10 @@ public class StringSubstitutor {
      *
      * @param enableSubstitutionInVariables The new value of the flag.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setEnableSubstitutionInVariables(final boolean enableSubstitutionInVariables) {
+        checkMutable();
         this.enableSubstitutionInVariables = enableSubstitutionInVariables;
         return this;
     }
@@ -1197,8 +2223,10 @@ public class StringSubstitutor {
      *
      * @param failOnUndefinedVariable true if exception should be thrown on undefined variable.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setEnableUndefinedVariableException(final boolean failOnUndefinedVariable) {
+        checkMutable();
         this.failOnUndefinedVariable = failOnUndefinedVariable;
         return this;
     }
@@ -1209,12 +2237,30 @@ public class StringSubstitutor {
      *
      * @param escapeChar The escape character (0 for disabling escaping).
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setEscapeChar(final char escapeChar) {
+        checkMutable();
         this.escapeChar = escapeChar;
         return this;
     }
 
+    /**
+     * Sets a flag controlling whether the substituted values of variables are memoized within one substitution. If set to <strong>true</strong>, a
+     * variable referenced again is neither looked up nor substituted again, its value from the first reference being reused, which requires the lookup to
+     * return the same value for the same name throughout a substitution. The default value is <strong>false</strong>.
+     *
+     * @param memoizeValues true if the substituted values of variables are memoized.
+     * @return {@code this} instance.
+     * @since 1.15.1
+     * @throws UnsupportedOperationException if this instance is immutable.
+     */
+    public StringSubstitutor setMemoizeValues(final boolean memoizeValues) {
+        checkMutable();
+        this.memoizeValues = memoizeValues;
+        return this;
+    }
+
     /**
      * Sets a flag controlling whether escapes are preserved during substitution. If set to <strong>true</strong>, the escape
      * character is retained during substitution (e.g. {@code $${this-is-escaped}} remains {@code $${this-is-escaped}}).
@@ -1223,8 +2269,10 @@ public class StringSubstitutor {
      *
      * @param preserveEscapes true if escapes are to be preserved.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setPreserveEscapes(final boolean preserveEscapes) {
+        checkMutable();
         this.preserveEscapes = preserveEscapes;
         return this;
     }
@@ -1238,6 +2286,7 @@ public class StringSubstitutor {
      *
      * @param valueDelimiter The variable default value delimiter character to use.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setValueDelimiter(final char valueDelimiter) {
         return setValueDelimiterMatcher(StringMatcherFactory.INSTANCE.charMatcher(valueDelimiter));
@@ -1256,6 +2305,7 @@ public class StringSubstitutor {
      *
      * @param valueDelimiter The variable default value delimiter string to use, may be null or empty.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setValueDelimiter(final String valueDelimiter) {
         if (valueDelimiter == null || valueDelimiter.isEmpty()) {
@@ -1278,8 +2328,10 @@ public class StringSubstitutor {
      *
      * @param valueDelimiterMatcher variable default value delimiter matcher to use, may be null.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setValueDelimiterMatcher(final StringMatcher valueDelimiterMatcher) {
+        checkMutable();
         this.valueDelimiterMatcher = valueDelimiterMatcher;
         return this;
     }
@@ -1293,6 +2345,7 @@ public class StringSubstitutor {
      *
      * @param prefix The prefix character to use.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setVariablePrefix(final char prefix) {
         return setVariablePrefixMatcher(StringMatcherFactory.INSTANCE.charMatcher(prefix));
@@ -1308,6 +2361,7 @@ public class StringSubstitutor {
      * @param prefix The prefix for variables, not null.
      * @return {@code this} instance.
      * @throws IllegalArgumentException if the prefix is null.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setVariablePrefix(final String prefix) {
         Validate.isTrue(prefix != null, "Variable prefix must not be null!");
@@ -1324,8 +2378,10 @@ public class StringSubstitutor {
      * @param prefixMatcher The prefix matcher to use, null ignored.
      * @return {@code this} instance.
      * @throws IllegalArgumentException if the prefix matcher is null.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setVariablePrefixMatcher(final StringMatcher prefixMatcher) {
+        checkMutable();
         Validate.isTrue(prefixMatcher != null, "Variable prefix matcher must not be null!");
         this.prefixMatcher = prefixMatcher;
         return this;
@@ -1336,8 +2392,10 @@ public class StringSubstitutor {
      *
      * @param variableResolver The VariableResolver.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setVariableResolver(final StringLookup variableResolver) {
+        checkMutable();
         this.variableResolver = variableResolver;
         return this;
     }
@@ -1351,6 +2409,7 @@ public class StringSubstitutor {
      *
      * @param suffix The suffix character to use.
      * @return {@code this} instance.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setVariableSuffix(final char suffix) {
         return setVariableSuffixMatcher(StringMatcherFactory.INSTANCE.charMatcher(suffix));
@@ -1366,6 +2425,7 @@ public class StringSubstitutor {
      * @param suffix The suffix for variables, not null.
      * @return {@code this} instance.
      * @throws IllegalArgumentException if the suffix is null.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setVariableSuffix(final String suffix) {
         Validate.isTrue(suffix != null, "Variable suffix must not be null!");
@@ -1382,8 +2442,10 @@ public class StringSubstitutor {
      * @param suffixMatcher The suffix matcher to use, null ignored.
      * @return {@code this} instance.
      * @throws IllegalArgumentException if the suffix matcher is null.
+     * @throws UnsupportedOperationException if this instance is immutable.
      */
     public StringSubstitutor setVariableSuffixMatcher(final StringMatcher suffixMatcher) {
+        checkMutable();
         Validate.isTrue(suffixMatcher != null, "Variable suffix matcher must not be null!");
         this.suffixMatcher = suffixMatcher;
         return this;
@@ -1406,7 +2468,7 @@ public class StringSubstitutor {
      * @return true if altered.
      */
     protected boolean substitute(final TextStringBuilder builder, final int offset, final int length) {
-        return substitute(builder, offset, length, null).altered;
+        return substitute(builder, offset, length, null, getSettings()).altered;
     }
 
     /**
@@ -1417,24 +2479,43 @@ public class StringSubstitutor {
      * @param offset         The start offset within the builder, must be valid.
      * @param length         The length within the builder to be processed, must be valid.
      * @param priorVariables The stack keeping track of the replaced variables, may be null.
+     * @param settings       The settings of the substitution.
      * @return The result.
      * @throws IllegalArgumentException if variable is not found and <code>isEnableUndefinedVariableException() == true</code>.
      * @since 1.9
      */
-    private Result substitute(final TextStringBuilder builder, final int offset, final int length, List<String> priorVariables) {
+    private Result substitute(final TextStringBuilder builder, final int offset, final int length, final ResolutionStack priorVariables,
+            final Settings settings) {
+        return substitute(builder, offset, length, offset, priorVariables, settings);
+    }
+
+    /**
+     * Resolves the values of the variable references of a region of a builder from the given position on, the text before it being already resolved.
+     *
+     * @param builder        The string builder to substitute into, not null.
+     * @param offset         The start offset within the builder, must be valid.
+     * @param length         The length within the builder to be processed, must be valid.
+     * @param start          The position to start scanning at, from offset to offset + length.
+     * @param priorVariables The stack keeping track of the replaced variables, may be null.
+     * @param settings       The settings of the substitution.
+     * @return The result.
+     * @throws IllegalArgumentException if variable is not found and <code>isEnableUndefinedVariableException() == true</code>.
+     */
+    private Result substitute(final TextStringBuilder builder, final int offset, final int length, final int start, ResolutionStack priorVariables,
+            final Settings settings) {
         Objects.requireNonNull(builder, "builder");
-        final StringMatcher prefixMatcher = getVariablePrefixMatcher();
-        final StringMatcher suffixMatcher = getVariableSuffixMatcher();
-        final char escapeCh = getEscapeChar();
-        final StringMatcher valueDelimMatcher = getValueDelimiterMatcher();
-        final boolean substitutionInVariablesEnabled = isEnableSubstitutionInVariables();
-        final boolean substitutionInValuesDisabled = isDisableSubstitutionInValues();
-        final boolean undefinedVariableException = isEnableUndefinedVariableException();
-        final boolean preserveEscapes = isPreserveEscapes();
+        final StringMatcher prefixMatcher = settings.prefixMatcher;
+        final StringMatcher suffixMatcher = settings.suffixMatcher;
+        final char escapeCh = settings.escapeChar;
+        final StringMatcher valueDelimMatcher = settings.valueDelimiterMatcher;
+        final boolean substitutionInVariablesEnabled = settings.substitutionInVariablesEnabled;
+        final boolean substitutionInValuesDisabled = settings.substitutionInValuesDisabled;
+        final boolean undefinedVariableException = settings.undefinedVariableException;
+        final boolean preserveEscapes = settings.preserveEscapes;
         boolean altered = false;
         int lengthChange = 0;
         int bufEnd = offset + length;
-        int pos = offset;
+        int pos = start;
         int escPos = -1;
         outer: while (pos < bufEnd) {
             final int startMatchLen = prefixMatcher.isMatch(builder, pos, offset, bufEnd);
@@ -1489,7 +2570,7 @@ public class StringSubstitutor {
                             String varNameExpr = builder.midString(startPos + startMatchLen, pos - startPos - startMatchLen);
                             if (substitutionInVariablesEnabled) {
                                 final TextStringBuilder bufName = new TextStringBuilder(varNameExpr);
-                                substitute(bufName, 0, bufName.length());
+                                substituteName(bufName, settings);
                                 varNameExpr = bufName.toString();
                             }
                             pos += endMatchLen;
@@ -1515,15 +2596,24 @@ public class StringSubstitutor {
                             }
                             // on the first call initialize priorVariables
                             if (priorVariables == null) {
-                                priorVariables = new ArrayList<>();
-                                priorVariables.add(builder.midString(offset, length));
+                                priorVariables = new ResolutionStack(builder.midString(offset, length), settings.memoizeValues);
+                            }
+                            final String memoized = priorVariables.getValue(varName);
+                            if (memoized != null) {
+                                builder.replace(startPos, endPos, memoized);
+                                altered = true;
+                                final int change = memoized.length() - (endPos - startPos);
+                                pos += change;
+                                bufEnd += change;
+                                lengthChange += change;
+                                break;
                             }
                             // handle cyclic substitution
-                            checkCyclicSubstitution(varName, priorVariables);
-                            priorVariables.add(varName);
+                            priorVariables.push(varName);
                             // resolve the variable
-                            String varValue = resolveVariable(varName, builder, startPos, endPos);
-                            if (varValue == null) {
+                            String varValue = resolveVariable(varName, builder, startPos, endPos, settings);
+                            final boolean resolved = varValue != null;
+                            if (!resolved) {
                                 varValue = varDefaultValue;
                             }
                             if (varValue != null) {
@@ -1532,7 +2622,10 @@ public class StringSubstitutor {
                                 altered = true;
                                 int change = 0;
                                 if (!substitutionInValuesDisabled) { // recursive replace
-                                    change = substitute(builder, startPos, varLen, priorVariables).lengthChange;
+                                    change = substitute(builder, startPos, varLen, priorVariables, settings).lengthChange;
+                                }
+                                if (resolved) {
+                                    priorVariables.putValue(varName, builder, startPos, startPos + varLen + change);
                                 }
                                 change = change + varLen - (endPos - startPos);
                                 pos += change;
@@ -1543,7 +2636,7 @@ public class StringSubstitutor {
                                         substitutionInVariablesEnabled));
                             }
                             // remove variable from the cyclic stack
-                            priorVariables.remove(priorVariables.size() - 1);
+                            priorVariables.pop();
                             break;
                         }
                         nestedVarCount--;
@@ -1555,6 +2648,21 @@ public class StringSubstitutor {
         return new Result(altered, lengthChange);
     }
 
+    /**
+     * Substitutes the variables of a variable name with the given settings, or with {@link #substitute(TextStringBuilder, int, int)} for a subclass.
+     *
+     * @param bufName  The builder holding the variable name, not null.
+     * @param settings The settings of the substitution.
+     */
+    private void substituteName(final TextStringBuilder bufName, final Settings settings) {
+        if (getClass() != StringSubstitutor.class) {
+            // a subclass may override substitute()
+            substitute(bufName, 0, bufName.length());
+            return;
+        }
+        substitute(bufName, 0, bufName.length(), null, settings);
+    }
+
     /**
      * Returns a string representation of the object.
      *
@@ -1566,23 +2674,25 @@ public class StringSubstitutor {
         // @formatter:off
         return new StringBuilder()
             .append("StringSubstitutor [disableSubstitutionInValues=")
-            .append(disableSubstitutionInValues)
+            .append(isDisableSubstitutionInValues())
             .append(", enableSubstitutionInVariables=")
-            .append(enableSubstitutionInVariables)
+            .append(isEnableSubstitutionInVariables())
             .append(", enableUndefinedVariableException=")
-            .append(failOnUndefinedVariable)
+            .append(isEnableUndefinedVariableException())
             .append(", escapeChar=")
-            .append(escapeChar)
+            .append(getEscapeChar())
+            .append(", memoizeValues=")
+            .append(isMemoizeValues())
             .append(", prefixMatcher=")
-            .append(prefixMatcher)
+            .append(getVariablePrefixMatcher())
             .append(", preserveEscapes=")
-            .append(preserveEscapes)
+            .append(isPreserveEscapes())
             .append(", suffixMatcher=")
-            .append(suffixMatcher)
+            .append(getVariableSuffixMatcher())
             .append(", valueDelimiterMatcher=")
-            .append(valueDelimiterMatcher)
+            .append(getValueDelimiterMatcher())
             .append(", variableResolver=")
-            .append(variableResolver)
+            .append(getStringLookup())
             .append("]")
             .toString();
         // @formatter:on
@@ -203,6 +203,17 @@ public class TextStringBuilder implements CharSequence, Appendable, Serializable
         TextStringBuilderWriter() {
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public Writer append(final CharSequence csq, final int start, final int end) throws IOException {
+            if (csq instanceof TextStringBuilder) {
+                // copy the range without converting the whole builder to a String
+                TextStringBuilder.this.append((TextStringBuilder) csq, start, end - start);
+                return this;
+            }
+            return super.append(csq, start, end);
+        }
+
         /** {@inheritDoc} */
         @Override
         public void close() {
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.io;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Objects;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.text.TextStringBuilder;
+import org.apache.commons.text.translate.CharSequenceTranslator;
+
+/**
+ * A {@link Reader} that translates a source {@code Reader} using a {@link CharSequenceTranslator}, for example, to escape or unescape it.
+ *
+ * <p>
+ * Using this Reader avoids reading a whole file into memory as a {@code String} to translate it. The source is read in chunks, each chunk is translated up to
+ * the last index followed by a lookahead window of input, see {@link CharSequenceTranslator#getLookahead()}, and the window is carried over to the next
+ * chunk. The memory used does not depend on the size of the source.
+ * </p>
+ * <p>
+ * The lookahead of a translator whose escapes have no maximum length, such as the unescapers of numeric entities and of Unicode escapes, is unknown. To
+ * unescape a stream with one, pass a lookahead bounding the length of the escapes of the source to {@link #TranslatingReader(Reader,
+ * CharSequenceTranslator, int)}.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @see TranslatingWriter
+ * @since 1.15.1
+ */
+public class TranslatingReader extends FilterReader {
+
+    /** The end-of-stream character marker. */
+    private static final int EOS = -1;
+
+    /** The number of chars to read from the underlying reader at once. */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Gets the lookahead of the given translator.
+     *
+     * @param translator the translator.
+     * @return the lookahead of the translator.
+     * @throws NullPointerException     if {@code translator} is {@code null}.
+     * @throws IllegalArgumentException if the lookahead of the translator is unknown.
+     */
+    static int getLookahead(final CharSequenceTranslator translator) {
+        final int lookahead = Objects.requireNonNull(translator, "translator").getLookahead();
+        Validate.isTrue(lookahead >= 0, "The lookahead of %s is unknown, use a constructor taking a lookahead", translator);
+        return lookahead;
+    }
+
+    /** Input read but not translated yet. */
+    private final TextStringBuilder buffer = new TextStringBuilder();
+
+    /** End-of-Stream flag. */
+    private boolean eos;
+
+    /** The index of the next char of {@link #translated} to read. */
+    private int pos;
+
+    /** Translated chars, read from {@link #pos}. */
+    private final TextStringBuilder translated = new TextStringBuilder();
+
+    /** Writes to {@link #translated}. */
+    private final Writer translatedWriter = translated.asWriter();
+
+    /** The underlying translator. */
+    private final CharSequenceTranslator translator;
+
+    /** The number of chars kept untranslated at the end of the buffer until more input is read. */
+    private final int window;
+
+    /**
+     * Constructs a new instance using the lookahead of the translator.
+     *
+     * @param reader     The underlying reader containing the text to translate.
+     * @param translator How to translate as we read.
+     * @throws NullPointerException     if {@code reader} is {@code null}.
+     * @throws NullPointerException     if {@code translator} is {@code null}.
+     * @throws IllegalArgumentException if the lookahead of the translator is unknown.
+     */
+    public TranslatingReader(final Reader reader, final CharSequenceTranslator translator) {
+        this(reader, translator, getLookahead(translator));
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param reader     The underlying reader containing the text to translate.
+     * @param translator How to translate as we read.
+     * @param lookahead  The maximum number of chars the translator examines from a translation index on.
+     * @throws NullPointerException     if {@code reader} is {@code null}.
+     * @throws NullPointerException     if {@code translator} is {@code null}.
+     * @throws IllegalArgumentException if {@code lookahead} is negative.
+     */
+    public TranslatingReader(final Reader reader, final CharSequenceTranslator translator, final int lookahead) {
+        super(reader);
+        Validate.isTrue(lookahead >= 0, "The lookahead must not be negative: %d", lookahead);
+        this.translator = Objects.requireNonNull(translator, "translator");
+        // a surrogate pair copied as is spans 2 chars
+        this.window = Math.max(lookahead, 2);
+    }
+
+    /**
+     * Translates input until there are translated chars to read or the end of the underlying reader is reached.
+     *
+     * @return the number of translated chars to read, 0 at the end of the stream.
+     * @throws IOException If an I/O error occurs.
+     */
+    private int fill() throws IOException {
+        if (pos < translated.length()) {
+            return translated.length() - pos;
+        }
+        translated.clear();
+        pos = 0;
+        while (translated.isEmpty() && !(eos && buffer.isEmpty())) {
+            if (!eos) {
+                eos = buffer.readFrom(in, CHUNK_SIZE) == EOS;
+            }
+            final int end = eos ? buffer.length() : buffer.length() - window + 1;
+            if (end > 0) {
+                buffer.delete(0, translator.translateRegion(buffer, 0, end, translatedWriter));
+            }
+        }
+        return translated.length();
+    }
+
+    /**
+     * Mark is not supported.
+     *
+     * @param readAheadLimit Ignored.
+     * @throws IOException Always.
+     */
+    @Override
+    public void mark(final int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    /**
+     * Mark is not supported.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Reads a single character.
+     *
+     * @return A character as an {@code int} or {@code -1} for end-of-stream.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public int read() throws IOException {
+        return fill() == 0 ? EOS : translated.charAt(pos++);
+    }
+
+    /**
+     * Reads characters into a portion of an array.
+     *
+     * @param target      Target buffer.
+     * @param targetIndex Index in the target at which to start storing characters.
+     * @param targetLength Maximum number of characters to read.
+     * @return The number of characters read, or -1 on end of stream.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public int read(final char[] target, final int targetIndex, final int targetLength) throws IOException {
+        if (targetLength <= 0) {
+            // short-circuit: ask nothing, give nothing
+            return 0;
+        }
+        final int available = fill();
+        if (available == 0) {
+            return EOS;
+        }
+        final int count = Math.min(available, targetLength);
+        translated.getChars(pos, pos + count, target, targetIndex);
+        pos += count;
+        return count;
+    }
+
+    /**
+     * Tests whether this stream is ready to be read.
+     *
+     * @return whether translated chars are pending or the underlying reader is ready.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public boolean ready() throws IOException {
+        return pos < translated.length() || super.ready();
+    }
+
+    /**
+     * Reset is not supported.
+     *
+     * @throws IOException Always.
+     */
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    /**
+     * Skips translated characters.
+     *
+     * @param n The number of characters to skip.
+     * @return The number of characters actually skipped.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public long skip(final long n) throws IOException {
+        Validate.isTrue(n >= 0, "The skip count must not be negative: %d", n);
+        long skipped = 0;
+        while (skipped < n) {
+            final int available = fill();
+            if (available == 0) {
+                break;
+            }
+            final int count = (int) Math.min(available, n - skipped);
+            pos += count;
+            skipped += count;
+        }
+        return skipped;
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.io;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.apache.commons.text.translate.CharSequenceTranslator;
+import org.apache.commons.text.translate.IncrementalTranslator;
+
+/**
+ * A {@link Writer} that translates the text written to it using a {@link CharSequenceTranslator}, for example, to escape or unescape it, and writes the
+ * translation to an underlying {@code Writer}.
+ *
+ * <p>
+ * Using this Writer avoids building a whole file in memory as a {@code String} to translate it. The text written is buffered in chunks, each chunk is
+ * translated up to the last index followed by a lookahead window of text, see {@link CharSequenceTranslator#getLookahead()}, and the window is carried over
+ * to the next chunk, see {@link IncrementalTranslator}. The memory used does not depend on the size of the text.
+ * </p>
+ * <p>
+ * Since the chars of the window may be the start of a longer translation, {@link #flush()} only translates up to the window; the window is translated when
+ * this Writer is closed, which must be done to write the end of the translation.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @see TranslatingReader
+ * @since 1.15.1
+ */
+public class TranslatingWriter extends FilterWriter {
+
+    /** Translates the text written. */
+    private final IncrementalTranslator translator;
+
+    /**
+     * Constructs a new instance using the lookahead of the translator.
+     *
+     * @param writer     The underlying writer to write the translation to.
+     * @param translator How to translate as we write.
+     * @throws NullPointerException     if {@code writer} is {@code null}.
+     * @throws NullPointerException     if {@code translator} is {@code null}.
+     * @throws IllegalArgumentException if the lookahead of the translator is unknown.
+     */
+    public TranslatingWriter(final Writer writer, final CharSequenceTranslator translator) {
+        this(writer, translator, TranslatingReader.getLookahead(translator));
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param writer     The underlying writer to write the translation to.
+     * @param translator How to translate as we write.
+     * @param lookahead  The maximum number of chars the translator examines from a translation index on.
+     * @throws NullPointerException     if {@code writer} is {@code null}.
+     * @throws NullPointerException     if {@code translator} is {@code null}.
+     * @throws IllegalArgumentException if {@code lookahead} is negative.
+     */
+    public TranslatingWriter(final Writer writer, final CharSequenceTranslator translator, final int lookahead) {
+        super(writer);
+        this.translator = new IncrementalTranslator(writer, translator, lookahead);
+    }
+
+    /**
+     * Translates the buffered text, then closes the underlying writer.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            translator.finish();
+        } finally {
+            super.close();
+        }
+    }
+
+    /**
+     * Translates the buffered text up to the lookahead window, then flushes the underlying writer.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void flush() throws IOException {
+        translator.flush();
+        super.flush();
+    }
+
+    /**
+     * Writes a portion of an array of characters.
+     *
+     * @param cbuf Buffer of characters to be written.
+     * @param off  Offset from which to start reading characters.
+     * @param len  Number of characters to be written.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        translator.append(cbuf, off, len);
+    }
+
+    /**
+     * Writes a single character.
+     *
+     * @param c The character to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void write(final int c) throws IOException {
+        translator.append((char) c);
+    }
+
+    /**
+     * Writes a portion of a string.
+     *
+     * @param str String to be written.
+     * @param off Offset from which to start reading characters.
+     * @param len Number of characters to be written.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        translator.append(str, off, off + len);
+    }
+
+}
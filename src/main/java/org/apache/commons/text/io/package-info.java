@@ -26,6 +26,12 @@
  * example, when a Servlet filters a file to a client.
  * </p>
  *
+ * <p>
+ * {@link org.apache.commons.text.io.TranslatingReader} and {@link org.apache.commons.text.io.TranslatingWriter} translate a stream with a
+ * {@link org.apache.commons.text.translate.CharSequenceTranslator}, for example, to escape or unescape it, keeping only a bounded window of the stream in
+ * memory.
+ * </p>
+ *
  * @since 1.9
  */
 package org.apache.commons.text.io;
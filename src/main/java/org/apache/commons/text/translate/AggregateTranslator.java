@@ -47,6 +47,114 @@ public class AggregateTranslator extends CharSequenceTranslator {
         }
     }
 
+    /**
+     * Adds the translators executed by this instance to the given list, flattening nested aggregates.
+     *
+     * @param list the list to add to.
+     */
+    private void addTo(final List<CharSequenceTranslator> list) {
+        for (final CharSequenceTranslator translator : translators) {
+            // Only flatten the classes of this package, a subclass may override translate()
+            if (translator.getClass() == AggregateTranslator.class) {
+                ((AggregateTranslator) translator).addTo(list);
+            } else if (translator instanceof FusedTranslator) {
+                ((FusedTranslator) translator).addTo(list);
+            } else {
+                list.add(translator);
+            }
+        }
+    }
+
+    /**
+     * Tests whether each of the given translators translates each code point independently of the others.
+     *
+     * @param translators the translators.
+     * @return whether each translator translates each code point independently of the others.
+     */
+    static boolean isCodePointTranslators(final Iterable<CharSequenceTranslator> translators) {
+        for (final CharSequenceTranslator translator : translators) {
+            if (!translator.isCodePointTranslator()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the largest lookahead of the given translators.
+     *
+     * @param translators the translators.
+     * @return the largest lookahead of the translators, or -1 if one of them is unknown.
+     */
+    static int maxLookahead(final Iterable<CharSequenceTranslator> translators) {
+        int lookahead = 0;
+        for (final CharSequenceTranslator translator : translators) {
+            final int current = translator.getLookahead();
+            if (current < 0) {
+                return -1;
+            }
+            lookahead = Math.max(lookahead, current);
+        }
+        return lookahead;
+    }
+
+    /**
+     * Compiles this translator into an equivalent one driven by a table indexed by the char at the translation index.
+     * <p>
+     * The compiled translator produces the same output as this one. Chars no translator consumes are passed through after a single table lookup, chars
+     * mapped by a single char key of a {@link LookupTranslator} or a {@link TableTranslator} are replaced directly, and all other chars resume the sequence
+     * at the first translator that may consume them instead of trying every translator in turn. Nested {@link AggregateTranslator}s are flattened. The table
+     * is built from {@link #isTranslatable(char)} of the translators to which it applies, any other translator is tried at every index it is reached.
+     * </p>
+     *
+     * @return A compiled translator equivalent to this one.
+     * @since 1.15.1
+     */
+    public CharSequenceTranslator compile() {
+        final List<CharSequenceTranslator> list = new ArrayList<>();
+        addTo(list);
+        return new FusedTranslator(list.toArray(new CharSequenceTranslator[0]));
+    }
+
+    /**
+     * Gets the largest lookahead of the aggregated translators, unknown for a subclass, which may override {@link #translate(CharSequence, int, Writer)}.
+     *
+     * @return the largest lookahead of the aggregated translators, or -1 if one of them is unknown or for a subclass.
+     * @since 1.15.1
+     */
+    @Override
+    public int getLookahead() {
+        if (getClass() != AggregateTranslator.class) {
+            // a subclass may override translate()
+            return -1;
+        }
+        return maxLookahead(translators);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean isCodePointTranslator() {
+        if (getClass() != AggregateTranslator.class) {
+            return super.isCodePointTranslator();
+        }
+        return isCodePointTranslators(translators);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        for (final CharSequenceTranslator translator : translators) {
+            if (translator.mayTranslate(ch)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * The first translator to consume code points from the input is the 'winner'.
      * Execution stops with the number of consumed code points being returned.
@@ -63,4 +171,22 @@ public class AggregateTranslator extends CharSequenceTranslator {
         return 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int translateChars(final CharSequence input, final int index, final Writer writer) throws IOException {
+        if (getClass() != AggregateTranslator.class) {
+            // a subclass may override translate()
+            return super.translateChars(input, index, writer);
+        }
+        for (final CharSequenceTranslator translator : translators) {
+            final int consumed = translator.translateChars(input, index, writer);
+            if (consumed != 0) {
+                return consumed;
+            }
+        }
+        return 0;
+    }
+
 }
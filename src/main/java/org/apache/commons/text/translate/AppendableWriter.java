@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * An unsynchronized Writer appending to an {@link Appendable}, with bulk paths for {@link StringBuilder}.
+ * <p>
+ * Unlike {@link java.io.StringWriter}, writing does not lock and ranges of CharSequences are appended without creating a sub-sequence.
+ * </p>
+ */
+final class AppendableWriter extends Writer {
+
+    /** The target. */
+    private final Appendable appendable;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param appendable the target.
+     */
+    AppendableWriter(final Appendable appendable) {
+        this.appendable = appendable;
+    }
+
+    @Override
+    public Writer append(final char c) throws IOException {
+        appendable.append(c);
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) throws IOException {
+        appendable.append(csq);
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq, final int start, final int end) throws IOException {
+        appendable.append(csq, start, end);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    @Override
+    public void flush() {
+        // nothing to flush
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            ((StringBuilder) appendable).append(cbuf, off, len);
+        } else {
+            appendable.append(CharBuffer.wrap(cbuf, off, len));
+        }
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        appendable.append((char) c);
+    }
+
+    @Override
+    public void write(final String str) throws IOException {
+        appendable.append(str);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        appendable.append(str, off, off + len);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.Writer;
+
+/**
+ * A Writer that writes into a char array of a fixed size.
+ */
+final class ArrayWriter extends Writer {
+
+    /** The array to write into. */
+    private final char[] array;
+
+    /** The index of the next char to write. */
+    private int index;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param array  the array to write into.
+     * @param offset the index of the first char to write.
+     */
+    ArrayWriter(final char[] array, final int offset) {
+        this.array = array;
+        this.index = offset;
+    }
+
+    @Override
+    public Writer append(final char c) {
+        write(c);
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) {
+        final String str = String.valueOf(csq);
+        write(str, 0, str.length());
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq, final int start, final int end) {
+        if (csq instanceof String) {
+            write((String) csq, start, end - start);
+            return this;
+        }
+        final CharSequence seq = csq != null ? csq : "null";
+        reserve(end - start);
+        for (int i = start; i < end; i++) {
+            array[index++] = seq.charAt(i);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    @Override
+    public void flush() {
+        // nothing to flush
+    }
+
+    /**
+     * Gets the index after the last char written.
+     *
+     * @return the index after the last char written.
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Checks that the array has room for the given number of chars.
+     *
+     * @param length the number of chars to write.
+     * @throws IndexOutOfBoundsException if the array has no room for them.
+     */
+    private void reserve(final int length) {
+        if (length > array.length - index) {
+            throw new IndexOutOfBoundsException("No room for " + length + " chars at index " + index + " of an array of length " + array.length);
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) {
+        reserve(len);
+        System.arraycopy(cbuf, off, array, index, len);
+        index += len;
+    }
+
+    @Override
+    public void write(final int c) {
+        reserve(1);
+        array[index++] = (char) c;
+    }
+
+    @Override
+    public void write(final String str) {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) {
+        reserve(len);
+        str.getChars(off, off + len, array, index);
+        index += len;
+    }
+}
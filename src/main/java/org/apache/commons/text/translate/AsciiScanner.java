@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.nio.CharBuffer;
+
+/**
+ * Scans text for the chars of a set of ASCII chars.
+ * <p>
+ * The chars are tested 8 at a time: the 8 chars are combined into a single test that passes when none of them is in the set or non ASCII. A CharBuffer
+ * backed by an array is scanned in the array, any other text is scanned in place through {@link CharSequence#charAt(int)}, so a scan never allocates.
+ * See {@code EscapeScanPerformance} for a comparison with testing one char at a time.
+ * </p>
+ */
+final class AsciiScanner {
+
+    /** Number of ASCII chars. */
+    private static final int ASCII = 128;
+
+    /** The bits of a char that are set when it is not ASCII. */
+    private static final int NON_ASCII_MASK = ~(ASCII - 1) & 0xFFFF;
+
+    /** Whether each ASCII char is in the set. */
+    private final boolean[] set = new boolean[ASCII];
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param chars the ASCII chars to scan for.
+     */
+    AsciiScanner(final char... chars) {
+        for (final char c : chars) {
+            set[c] = true;
+        }
+    }
+
+    /**
+     * Gets the index of the first char of the set in a range, skipping non ASCII chars.
+     *
+     * @param input the text to scan.
+     * @param index the index to start scanning at.
+     * @param end   the index to stop scanning at.
+     * @return the index of the first char of the set, or an index at or after {@code end} if there is none.
+     */
+    int indexIn(final CharSequence input, final int index, final int end) {
+        int pos = index;
+        while ((pos = indexOf(input, pos, end)) < end && input.charAt(pos) >= ASCII) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Gets the index of the first char of the set or non ASCII char in a range.
+     *
+     * @param input the text to scan.
+     * @param index the index to start scanning at.
+     * @param end   the index to stop scanning at.
+     * @return the index of the first char of the set or non ASCII char, or an index at or after {@code end} if there is none.
+     */
+    int indexOf(final CharSequence input, final int index, final int end) {
+        if (input instanceof CharBuffer && ((CharBuffer) input).hasArray()) {
+            final CharBuffer buffer = (CharBuffer) input;
+            final int offset = buffer.arrayOffset() + buffer.position();
+            return indexOfInArray(buffer.array(), offset + index, offset + end) - offset;
+        }
+        int pos = index;
+        while (pos + 7 < end) {
+            final char c0 = input.charAt(pos);
+            final char c1 = input.charAt(pos + 1);
+            final char c2 = input.charAt(pos + 2);
+            final char c3 = input.charAt(pos + 3);
+            final char c4 = input.charAt(pos + 4);
+            final char c5 = input.charAt(pos + 5);
+            final char c6 = input.charAt(pos + 6);
+            final char c7 = input.charAt(pos + 7);
+            if (((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) & NON_ASCII_MASK) != 0
+                    || set[c0] | set[c1] | set[c2] | set[c3] | set[c4] | set[c5] | set[c6] | set[c7]) {
+                break;
+            }
+            pos += 8;
+        }
+        while (pos < end) {
+            final char c = input.charAt(pos);
+            if (c >= ASCII || set[c]) {
+                return pos;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Gets the index of the first char of the set or non ASCII char in a range of an array, testing 8 chars at a time.
+     *
+     * @param chars the array to scan.
+     * @param index the index to start scanning at.
+     * @param end   the index to stop scanning at.
+     * @return the index of the first char of the set or non ASCII char, or {@code end} if there is none.
+     */
+    private int indexOfInArray(final char[] chars, final int index, final int end) {
+        int i = index;
+        while (i + 7 < end) {
+            final char c0 = chars[i];
+            final char c1 = chars[i + 1];
+            final char c2 = chars[i + 2];
+            final char c3 = chars[i + 3];
+            final char c4 = chars[i + 4];
+            final char c5 = chars[i + 5];
+            final char c6 = chars[i + 6];
+            final char c7 = chars[i + 7];
+            if (((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) & NON_ASCII_MASK) != 0
+                    || set[c0] | set[c1] | set[c2] | set[c3] | set[c4] | set[c5] | set[c6] | set[c7]) {
+                break;
+            }
+            i += 8;
+        }
+        for (; i < end; i++) {
+            final char c = chars[i];
+            if (c >= ASCII || set[c]) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+}
@@ -21,7 +21,21 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.apache.commons.lang3.Validate;
 
@@ -38,6 +52,54 @@ public abstract class CharSequenceTranslator {
      */
     static final char[] HEX_DIGITS = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F' };
 
+    /**
+     * The smallest number of chars {@link #translateParallel(CharSequence, ForkJoinPool)} translates in a task.
+     */
+    static final int MIN_PARALLEL_CHUNK = 1 << 16;
+
+    /** The number of chars of the buffers used to translate between channels. */
+    private static final int CHANNEL_BUFFER_SIZE = 8192;
+
+    /**
+     * Whether {@link #isTranslatable(char)} applies to the translators of a class: it is declared by the class declaring the translate methods, or by a
+     * subclass of it.
+     */
+    private static final ClassValue<Boolean> TRUSTS_IS_TRANSLATABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                final Class<?> filter = declaringClass(type, "isTranslatable", char.class);
+                boolean trusted = declaringClass(type, "translate", CharSequence.class, int.class, Writer.class).isAssignableFrom(filter);
+                if (CodePointTranslator.class.isAssignableFrom(type)) {
+                    trusted &= declaringClass(type, "translate", int.class, Writer.class).isAssignableFrom(filter);
+                }
+                return trusted;
+            } catch (final SecurityException e) {
+                return Boolean.FALSE;
+            }
+        }
+    };
+
+    /**
+     * Gets the class declaring the given method that a translator of the given class executes.
+     *
+     * @param type           the class of the translator.
+     * @param name           the name of the method.
+     * @param parameterTypes the parameter types of the method.
+     * @return the class declaring the method, the given one or one of its superclasses.
+     */
+    private static Class<?> declaringClass(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        for (Class<?> c = type; c != CharSequenceTranslator.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return c;
+            } catch (final NoSuchMethodException e) {
+                // inherited
+            }
+        }
+        return CharSequenceTranslator.class;
+    }
+
     /**
      * Returns an upper case hexadecimal {@code String} for the given character.
      *
@@ -48,6 +110,40 @@ public abstract class CharSequenceTranslator {
         return Integer.toHexString(codePoint).toUpperCase(Locale.ENGLISH);
     }
 
+    /**
+     * Writes the decimal digits of a non-negative value, without allocating a String.
+     *
+     * @param value  the value to write.
+     * @param writer Writer to write to.
+     * @throws IOException Thrown if and only if the Writer produces an IOException.
+     */
+    static void writeDecimal(final int value, final Writer writer) throws IOException {
+        int divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            writer.write('0' + value / divisor % 10);
+        }
+    }
+
+    /**
+     * Writes the given number of upper case hexadecimal digits of a value, without allocating a String.
+     *
+     * @param value  the value to write.
+     * @param digits the number of digits to write, the lowest ones of the value.
+     * @param writer Writer to write to.
+     * @throws IOException Thrown if and only if the Writer produces an IOException.
+     */
+    static void writeHex(final int value, final int digits, final Writer writer) throws IOException {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            writer.write(HEX_DIGITS[value >> shift & 15]);
+        }
+    }
+
+    /** Whether {@link #isTranslatable(char)} applies to this translator, see {@link #mayTranslate(char)}. */
+    private final boolean trustsIsTranslatable = TRUSTS_IS_TRANSLATABLE.get(getClass());
+
     /**
      * Construct a new instance.
      */
@@ -55,8 +151,34 @@ public abstract class CharSequenceTranslator {
         // empty
     }
 
+    /**
+     * Writes a range of chars of a CharSequence to a Writer in bulk.
+     *
+     * @param input  CharSequence to write from.
+     * @param start  index of the first char to write.
+     * @param end    index after the last char to write.
+     * @param writer Writer to write to.
+     * @throws IOException Thrown if and only if the Writer produces an IOException.
+     */
+    static void write(final CharSequence input, final int start, final int end, final Writer writer) throws IOException {
+        if (input instanceof String) {
+            writer.write((String) input, start, end - start);
+        } else if (input instanceof CharBuffer && ((CharBuffer) input).hasArray()) {
+            final CharBuffer buffer = (CharBuffer) input;
+            writer.write(buffer.array(), buffer.arrayOffset() + buffer.position() + start, end - start);
+        } else if (writer instanceof StringWriter) {
+            ((StringWriter) writer).getBuffer().append(input, start, end);
+        } else {
+            writer.append(input, start, end);
+        }
+    }
+
     /**
      * Translates an input. This is intentionally final as its algorithm is tightly coupled with the abstract method of this class.
+     * <p>
+     * The input is first scanned for a char this translator may translate, see {@link #isTranslatable(char)}. If there is none, the input is returned as a
+     * String without copying when it already is one.
+     * </p>
      *
      * @param input CharSequence to be translated.
      * @return String output of translation.
@@ -65,14 +187,211 @@ public abstract class CharSequenceTranslator {
         if (input == null) {
             return null;
         }
+        final int len = input.length();
+        final int first = indexOfTranslatable(input, 0, len);
+        if (first == len) {
+            return input.toString();
+        }
+        final StringBuilder builder = new StringBuilder(outputCapacity(input, first));
+        builder.append(input, 0, first);
+        translateFrom(input, first, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Gets the capacity to allocate for the translation of an input by {@link #translate(CharSequence)}. The default implementation guesses twice the
+     * length of the input, translators that know the length of their output cheaply return it.
+     *
+     * @param input CharSequence that is being translated.
+     * @param first index of the first char that may be translated.
+     * @return the capacity of the output buffer.
+     */
+    int outputCapacity(final CharSequence input, final int first) {
+        return input.length() * 2;
+    }
+
+    /**
+     * Gets the length of the translation of an input, without building it.
+     * <p>
+     * This lets a caller allocate an output buffer of the exact size before translating. The default implementation translates the input into a Writer
+     * counting chars, which costs about as much as the translation without the copying; {@link TableTranslator} adds up the lengths of its replacements.
+     * </p>
+     *
+     * @param input CharSequence to be translated, may be null.
+     * @return the length of the translation, 0 for null.
+     * @since 1.15.1
+     */
+    public long translatedLength(final CharSequence input) {
+        if (input == null) {
+            return 0;
+        }
+        final LengthWriter writer = new LengthWriter();
+        try {
+            translateRegion(input, 0, input.length(), writer);
+        } catch (final IOException ioe) {
+            // this should never ever happen while writing to a LengthWriter
+            throw new UncheckedIOException(ioe);
+        }
+        return writer.getLength();
+    }
+
+    /**
+     * Translates an input using the given scratch buffer for the output.
+     *
+     * @param input   CharSequence to be translated, may be null.
+     * @param scratch StringBuilder to translate into, its content is replaced.
+     * @param writer  Writer appending to the scratch buffer.
+     * @return String output of translation, the input itself when it is a String and nothing is translated.
+     */
+    private String translate(final CharSequence input, final StringBuilder scratch, final Writer writer) {
+        if (input == null) {
+            return null;
+        }
+        final int len = input.length();
+        final int first = indexOfTranslatable(input, 0, len);
+        if (first == len) {
+            return input.toString();
+        }
+        scratch.setLength(0);
+        scratch.append(input, 0, first);
         try {
-            final StringWriter writer = new StringWriter(input.length() * 2);
-            translate(input, writer);
-            return writer.toString();
+            translateRegion(input, first, len, writer);
         } catch (final IOException ioe) {
-            // this should never ever happen while writing to a StringWriter
+            // this should never ever happen while writing to a StringBuilder
             throw new UncheckedIOException(ioe);
         }
+        return scratch.toString();
+    }
+
+    /**
+     * Translates many inputs, reusing a single scratch buffer for all of them. This is intentionally final as its algorithm is tightly coupled with the
+     * abstract method of this class.
+     * <p>
+     * Each output is the same as the one of {@link #translate(CharSequence)}: inputs that are Strings with nothing to translate are returned as they are, and
+     * other inputs cost a single String. The scratch buffer grows to the longest translated output and is confined to the calling thread.
+     * </p>
+     *
+     * @param inputs CharSequences to be translated, elements may be null.
+     * @return String outputs of translation, in the order of the inputs, null for null inputs.
+     * @since 1.15.1
+     */
+    public final String[] translateAll(final CharSequence... inputs) {
+        Objects.requireNonNull(inputs, "inputs");
+        final StringBuilder scratch = new StringBuilder();
+        final Writer writer = new AppendableWriter(scratch);
+        final String[] outputs = new String[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            outputs[i] = translate(inputs[i], scratch, writer);
+        }
+        return outputs;
+    }
+
+    /**
+     * Translates many inputs, reusing a single scratch buffer for all of them. This is intentionally final as its algorithm is tightly coupled with the
+     * abstract method of this class.
+     * <p>
+     * Each output is the same as the one of {@link #translate(CharSequence)}: inputs that are Strings with nothing to translate are returned as they are, and
+     * other inputs cost a single String. The scratch buffer grows to the longest translated output and is confined to the calling thread.
+     * </p>
+     *
+     * @param inputs CharSequences to be translated, elements may be null.
+     * @return String outputs of translation, in the order of the inputs, null for null inputs.
+     * @since 1.15.1
+     */
+    public final List<String> translateAll(final Iterable<? extends CharSequence> inputs) {
+        Objects.requireNonNull(inputs, "inputs");
+        final StringBuilder scratch = new StringBuilder();
+        final Writer writer = new AppendableWriter(scratch);
+        final List<String> outputs = inputs instanceof Collection ? new ArrayList<>(((Collection<?>) inputs).size()) : new ArrayList<>();
+        for (final CharSequence input : inputs) {
+            outputs.add(translate(input, scratch, writer));
+        }
+        return outputs;
+    }
+
+    /**
+     * Gets the maximum number of chars {@link #translate(CharSequence, int, Writer)} examines, starting at the translation index, to decide what to
+     * translate.
+     * <p>
+     * A translator with a bounded lookahead can translate a stream through a window of that many chars, see
+     * {@link org.apache.commons.text.io.TranslatingReader} and {@link org.apache.commons.text.io.TranslatingWriter}. The default implementation returns -1:
+     * the lookahead is unknown and the translator needs the whole input.
+     * </p>
+     *
+     * @return the maximum number of chars examined from the translation index on, or -1 if unknown or unbounded.
+     * @since 1.15.1
+     */
+    public int getLookahead() {
+        return -1;
+    }
+
+    /**
+     * Tests whether this translator translates each code point independently of the others: it examines no more than the code point at the translation
+     * index. The default implementation tests whether the lookahead is 0 or 1, a single char.
+     *
+     * @return whether this translator translates each code point independently of the others.
+     */
+    boolean isCodePointTranslator() {
+        final int lookahead = getLookahead();
+        return lookahead >= 0 && lookahead <= 1;
+    }
+
+    /**
+     * Gets the index of the first char at or after the given index at which this translator may consume input, see {@link #mayTranslate(char)}. The chars
+     * skipped are the ones {@link #translate(CharSequence, Writer)} would copy as they are: a high surrogate followed by a low surrogate is skipped as a pair.
+     *
+     * @param input CharSequence to scan.
+     * @param index int index to start scanning at.
+     * @param end   int index to stop scanning at, the last pair skipped may end after it.
+     * @return the index of the first translatable char, or an index at or after {@code end} if there is none before it.
+     */
+    int indexOfTranslatable(final CharSequence input, final int index, final int end) {
+        final int len = input.length();
+        int pos = index;
+        while (pos < end) {
+            final char c1 = input.charAt(pos);
+            if (mayTranslate(c1)) {
+                return pos;
+            }
+            pos++;
+            if (Character.isHighSurrogate(c1) && pos < len && Character.isLowSurrogate(input.charAt(pos))) {
+                pos++;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Tests whether this translator may consume input at an index holding the given char.
+     * <p>
+     * Returning {@code false} promises that {@link #translate(CharSequence, int, Writer)} returns 0 at such an index, which lets the translation of a whole
+     * input scan for the next char to translate and copy the chars in between in bulk. The default implementation returns {@code true}: every index is
+     * offered to {@link #translate(CharSequence, int, Writer)}. Subclasses overriding this method must keep it consistent with
+     * {@link #translate(CharSequence, int, Writer)}, and translators that only work on the whole input at index 0 must not override it.
+     * </p>
+     * <p>
+     * This method is only asked when the class declaring it also declares the translate methods the translator executes, or is a subclass of that class:
+     * {@link #translate(CharSequence, int, Writer)}, and {@link CodePointTranslator#translate(int, Writer)} for a {@link CodePointTranslator}. A subclass
+     * overriding a translate method without overriding this method may consume other chars, so every index is offered to it.
+     * </p>
+     *
+     * @param ch the char at the translation index.
+     * @return whether this translator may consume input starting with the given char.
+     * @since 1.15.1
+     */
+    protected boolean isTranslatable(final char ch) {
+        return true;
+    }
+
+    /**
+     * Tests whether this translator may consume input at an index holding the given char: {@link #isTranslatable(char)} when it applies to the class of
+     * this translator, {@code true} otherwise.
+     *
+     * @param ch the char at the translation index.
+     * @return whether this translator must be offered an index holding the given char.
+     */
+    final boolean mayTranslate(final char ch) {
+        return !trustsIsTranslatable || isTranslatable(ch);
     }
 
     /**
@@ -88,6 +407,31 @@ public abstract class CharSequenceTranslator {
      */
     public abstract int translate(CharSequence input, int index, Writer writer) throws IOException;
 
+    /**
+     * Translates a set of code points like {@link #translate(CharSequence, int, Writer)}, but returns the number of chars consumed.
+     * <p>
+     * The translation loop advances by chars. The default implementation converts the code points consumed into chars by decoding them again, translators
+     * that already know the chars they consumed, such as {@link CodePointTranslator}, return them directly so that text outside of the Basic Multilingual
+     * Plane is decoded once.
+     * </p>
+     *
+     * @param input  CharSequence that is being translated.
+     * @param index  int representing the current point of translation.
+     * @param writer Writer to translate the text to.
+     * @return int count of chars consumed.
+     * @throws IOException Thrown if and only if the Writer produces an IOException.
+     */
+    int translateChars(final CharSequence input, final int index, final Writer writer) throws IOException {
+        final int consumed = translate(input, index, writer);
+        // contract with translators is that they have to understand code points
+        // and they just took care of a surrogate pair
+        int pos = index;
+        for (int pt = 0; pt < consumed; pt++) {
+            pos += Character.charCount(Character.codePointAt(input, pos));
+        }
+        return pos - index;
+    }
+
     /**
      * Translates an input onto a Writer. This is intentionally final as its algorithm is tightly coupled with the abstract method of this class.
      *
@@ -100,10 +444,330 @@ public abstract class CharSequenceTranslator {
         if (input == null) {
             return;
         }
+        translateFrom(input, 0, writer);
+    }
+
+    /**
+     * Translates an input onto a StringBuilder from the given index on.
+     *
+     * @param input   CharSequence that is being translated.
+     * @param index   int index to start translating at.
+     * @param builder StringBuilder to translate the text to.
+     */
+    private void translateFrom(final CharSequence input, final int index, final StringBuilder builder) {
+        try {
+            translateFrom(input, index, new AppendableWriter(builder));
+        } catch (final IOException ioe) {
+            // this should never ever happen while writing to a StringBuilder
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Translates an input onto an Appendable. This is intentionally final as its algorithm is tightly coupled with the abstract method of this class.
+     * <p>
+     * Unlike {@link #translate(CharSequence, Writer)}, no Writer needs to be created by the caller: the translation is appended directly, without the
+     * locking of {@link StringWriter}, and runs of chars that are not translated are appended with a single call. A
+     * {@link org.apache.commons.text.TextStringBuilder} can serve as a reusable char buffer.
+     * </p>
+     *
+     * @param input      CharSequence that is being translated, may be null.
+     * @param appendable Appendable to translate the text to.
+     * @throws IOException Thrown if and only if the Appendable produces an IOException.
+     * @since 1.15.1
+     */
+    public final void translateTo(final CharSequence input, final Appendable appendable) throws IOException {
+        Validate.isTrue(appendable != null, "The Appendable must not be null");
+        if (input == null) {
+            return;
+        }
+        translateFrom(input, 0, appendable instanceof Writer ? (Writer) appendable : new AppendableWriter(appendable));
+    }
+
+    /**
+     * Translates an input onto a StringBuilder. This is intentionally final as its algorithm is tightly coupled with the abstract method of this class.
+     * <p>
+     * The translation is appended directly to the builder, without an intermediate String, and runs of chars that are not translated are appended with a
+     * single call.
+     * </p>
+     *
+     * @param input   CharSequence that is being translated, may be null.
+     * @param builder StringBuilder to translate the text to.
+     * @return the given builder.
+     * @since 1.15.1
+     */
+    public final StringBuilder translateTo(final CharSequence input, final StringBuilder builder) {
+        Validate.isTrue(builder != null, "The StringBuilder must not be null");
+        if (input != null) {
+            translateFrom(input, 0, builder);
+        }
+        return builder;
+    }
+
+    /**
+     * Translates an input into a char array, such as an output buffer reused from one call to the next. This is intentionally final as its algorithm is
+     * tightly coupled with the abstract method of this class.
+     * <p>
+     * The translation is written directly into the array, and runs of chars that are not translated are copied in bulk. The array must have room for the
+     * translation, see {@link #translatedLength(CharSequence)}.
+     * </p>
+     *
+     * @param input  CharSequence that is being translated, may be null.
+     * @param array  char array to translate the text into.
+     * @param offset index of the array to write the first char of the translation at.
+     * @return the index of the array after the last char of the translation.
+     * @throws IllegalArgumentException  if {@code array} is null.
+     * @throws IndexOutOfBoundsException if {@code offset} is negative or greater than the length of the array, or if the array has no room for the
+     *                                   translation; the chars translated so far are then left in the array.
+     * @since 1.15.1
+     */
+    public final int translateTo(final CharSequence input, final char[] array, final int offset) {
+        Validate.isTrue(array != null, "The array must not be null");
+        if (offset < 0 || offset > array.length) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " out of an array of length " + array.length);
+        }
+        if (input == null) {
+            return offset;
+        }
+        final ArrayWriter writer = new ArrayWriter(array, offset);
+        try {
+            translateFrom(input, 0, writer);
+        } catch (final IOException ioe) {
+            // this should never ever happen while writing to an array
+            throw new UncheckedIOException(ioe);
+        }
+        return writer.getIndex();
+    }
+
+    /**
+     * Encodes the chars of a CharBuffer and writes them to a channel.
+     *
+     * @param chars      CharBuffer holding the chars to encode from index 0 to its position, it is left holding the chars not encoded yet.
+     * @param encoder    CharsetEncoder to encode with.
+     * @param bytes      ByteBuffer to encode into, it is left cleared.
+     * @param endOfInput whether the chars are the last ones of the text.
+     * @param output     WritableByteChannel to write the bytes to.
+     * @throws IOException if the channel throws one.
+     */
+    private static void encode(final CharBuffer chars, final CharsetEncoder encoder, final ByteBuffer bytes, final boolean endOfInput,
+            final WritableByteChannel output) throws IOException {
+        chars.flip();
+        while (encoder.encode(chars, bytes, endOfInput).isOverflow()) {
+            write(bytes, output);
+        }
+        chars.compact();
+        if (endOfInput) {
+            while (encoder.flush(bytes).isOverflow()) {
+                write(bytes, output);
+            }
+        }
+        write(bytes, output);
+    }
+
+    /**
+     * Writes the bytes of a ByteBuffer to a channel.
+     *
+     * @param bytes  ByteBuffer holding the bytes to write from index 0 to its position, it is left cleared.
+     * @param output WritableByteChannel to write the bytes to.
+     * @throws IOException if the channel throws one.
+     */
+    private static void write(final ByteBuffer bytes, final WritableByteChannel output) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            output.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Copies a run of chars of a CharBuffer that are not translated to another CharBuffer in bulk, as far as it has room and without splitting a surrogate
+     * pair.
+     *
+     * @param input  CharBuffer to copy from, indices are relative to its position.
+     * @param start  index of the first char to copy.
+     * @param end    index after the last char to copy.
+     * @param output CharBuffer to copy to.
+     * @return the number of chars copied.
+     */
+    private static int put(final CharBuffer input, final int start, final int end, final CharBuffer output) {
+        int count = Math.min(end - start, output.remaining());
+        if (count < end - start && count > 0 && Character.isHighSurrogate(input.charAt(start + count - 1))) {
+            count--;
+        }
+        if (input.hasArray()) {
+            output.put(input.array(), input.arrayOffset() + input.position() + start, count);
+        } else {
+            final CharBuffer run = input.duplicate();
+            run.limit(input.position() + start + count);
+            run.position(input.position() + start);
+            output.put(run);
+        }
+        return count;
+    }
+
+    /**
+     * Translates the remaining chars of a CharBuffer into another CharBuffer, as far as the output has room. This is intentionally final as its algorithm
+     * is tightly coupled with the abstract method of this class.
+     * <p>
+     * Like {@link CharsetEncoder#encode(CharBuffer, ByteBuffer, boolean)}, this lets buffers of a fixed size carry a text of any length, such as a file
+     * decoded a region at a time from a {@link java.nio.MappedByteBuffer} and encoded to a {@link java.nio.channels.FileChannel}, without the heap ever
+     * holding the whole text, see {@link #translate(ReadableByteChannel, WritableByteChannel, Charset)}. The position of the input is advanced past the
+     * chars translated and the one of the output past their translation; a translation is never split. Runs of chars that are not translated are copied
+     * with bulk puts, from the backing array of the input when it has one, and translations are put in bulk.
+     * </p>
+     * <p>
+     * Unless {@code endOfInput} is true, the last chars of the input, which a translation may need to examine together with the chars that follow, see
+     * {@link #getLookahead()}, are left for the next call, after the caller has compacted the input and filled it with the next chars.
+     * </p>
+     *
+     * @param input      CharBuffer to translate the remaining chars of.
+     * @param output     CharBuffer to put the translation into, its capacity must be no less than the length of the longest translation.
+     * @param endOfInput whether the input holds the last chars of the text.
+     * @return true if all the chars that could be translated were, false if the output filled up first.
+     * @throws IllegalArgumentException if {@code endOfInput} is false and the lookahead of this translator is unknown, or if a translation is longer than
+     *                                  the capacity of the output, which would never have room for it.
+     * @since 1.15.1
+     */
+    public final boolean translate(final CharBuffer input, final CharBuffer output, final boolean endOfInput) {
+        Objects.requireNonNull(input, "input");
+        Objects.requireNonNull(output, "output");
+        final int lookahead = getLookahead();
+        Validate.isTrue(endOfInput || lookahead >= 0, "The lookahead of %s is unknown, the input must be translated in one call", this);
+        final int end = endOfInput ? input.remaining() : input.remaining() - Math.max(lookahead, 2) + 1;
+        final StringBuilder scratch = new StringBuilder();
+        final Writer writer = new AppendableWriter(scratch);
+        char[] chars = new char[16];
         int pos = 0;
+        boolean complete = true;
+        try {
+            while (pos < end) {
+                final int next = indexOfTranslatable(input, pos, end);
+                if (next > pos) {
+                    pos += put(input, pos, next, output);
+                    if (pos < next) {
+                        complete = false;
+                        break;
+                    }
+                    if (pos >= end) {
+                        break;
+                    }
+                }
+                // translate a single translation point aside, to only put it if it fits
+                scratch.setLength(0);
+                final int stop = translateRegion(input, pos, pos + 1, writer);
+                final int length = scratch.length();
+                if (length > output.remaining()) {
+                    Validate.isTrue(length <= output.capacity(), "The translation at index %d is longer than the capacity of the output: %s", pos, scratch);
+                    complete = false;
+                    break;
+                }
+                if (length > chars.length) {
+                    chars = new char[Math.max(length, chars.length * 2)];
+                }
+                scratch.getChars(0, length, chars, 0);
+                output.put(chars, 0, length);
+                pos = stop;
+            }
+        } catch (final IOException ioe) {
+            // this should never ever happen while writing to a StringBuilder
+            throw new UncheckedIOException(ioe);
+        }
+        input.position(input.position() + pos);
+        return complete;
+    }
+
+    /**
+     * Translates the text read from a channel and writes the translation to another channel, such as a {@link java.nio.channels.FileChannel}, through
+     * buffers of a fixed size: the text may be of any length. This is intentionally final as its algorithm is tightly coupled with the abstract method of
+     * this class.
+     * <p>
+     * The bytes read are decoded and the translation encoded with the given charset, malformed input and unmappable chars being replaced with the
+     * replacement of the charset. The channels are not closed.
+     * </p>
+     *
+     * @param input   ReadableByteChannel to read the text from until its end.
+     * @param output  WritableByteChannel to write the translation to.
+     * @param charset Charset of the text and of its translation.
+     * @throws IOException              if a channel throws one.
+     * @throws IllegalArgumentException if the lookahead of this translator is unknown, or if a translation is longer than the buffers.
+     * @see #translate(CharBuffer, CharBuffer, boolean)
+     * @since 1.15.1
+     */
+    public final void translate(final ReadableByteChannel input, final WritableByteChannel output, final Charset charset) throws IOException {
+        Objects.requireNonNull(input, "input");
+        Objects.requireNonNull(output, "output");
+        final int lookahead = getLookahead();
+        Validate.isTrue(lookahead >= 0, "The lookahead of %s is unknown, the input cannot be translated through buffers", this);
+        final CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final CharsetEncoder encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        // room for more than the lookahead window left in the input after each call
+        final int size = Math.max(CHANNEL_BUFFER_SIZE, lookahead * 2);
+        final ByteBuffer bytesIn = ByteBuffer.allocate(size);
+        final CharBuffer charsIn = CharBuffer.allocate(size);
+        final CharBuffer charsOut = CharBuffer.allocate(size);
+        final ByteBuffer bytesOut = ByteBuffer.allocate((int) Math.ceil(size * encoder.maxBytesPerChar()));
+        boolean endOfBytes = false;
+        boolean flushing = false;
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            if (!flushing) {
+                endOfBytes = endOfBytes || input.read(bytesIn) < 0;
+                bytesIn.flip();
+                flushing = decoder.decode(bytesIn, charsIn, endOfBytes).isUnderflow() && endOfBytes;
+                bytesIn.compact();
+            }
+            endOfInput = flushing && decoder.flush(charsIn).isUnderflow();
+            charsIn.flip();
+            while (!translate(charsIn, charsOut, endOfInput)) {
+                encode(charsOut, encoder, bytesOut, false, output);
+            }
+            charsIn.compact();
+        }
+        encode(charsOut, encoder, bytesOut, true, output);
+    }
+
+    /**
+     * Translates an input onto a Writer from the given index on, copying the runs of chars this translator does not translate in bulk.
+     *
+     * @param input  CharSequence that is being translated.
+     * @param index  int index to start translating at.
+     * @param writer Writer to translate the text to.
+     * @throws IOException Thrown if and only if the Writer produces an IOException.
+     */
+    private void translateFrom(final CharSequence input, final int index, final Writer writer) throws IOException {
+        translateRegion(input, index, input.length(), writer);
+    }
+
+    /**
+     * Translates a region of an input onto a Writer. This is intentionally final as its algorithm is tightly coupled with the abstract method of this class.
+     * <p>
+     * Translation starts at {@code index} and stops at the first translation point at or after {@code end}, which is returned. The chars after
+     * {@code end} are only examined by the translations that start before it, so that an input available in parts can be translated a region at a time:
+     * when at least {@link #getLookahead()} chars, and no less than 2, follow {@code end}, the result is the same as the one of translating the whole
+     * input.
+     * </p>
+     *
+     * @param input  CharSequence that is being translated.
+     * @param index  int index to start translating at.
+     * @param end    int index to stop translating at.
+     * @param writer Writer to translate the text to.
+     * @return the index translation stopped at, at or after {@code end} when the last translation consumed chars past it.
+     * @throws IOException Thrown if and only if the Writer produces an IOException.
+     * @since 1.15.1
+     */
+    public final int translateRegion(final CharSequence input, final int index, final int end, final Writer writer) throws IOException {
         final int len = input.length();
-        while (pos < len) {
-            final int consumed = translate(input, pos, writer);
+        int pos = index;
+        while (pos < end) {
+            final int next = indexOfTranslatable(input, pos, end);
+            if (next > pos) {
+                write(input, pos, next, writer);
+                pos = next;
+                if (pos >= end) {
+                    break;
+                }
+            }
+            final int consumed = translateChars(input, pos, writer);
             if (consumed == 0) {
                 // inlined implementation of Character.toChars(Character.codePointAt(input, pos))
                 // avoids allocating temp char arrays and duplicate checks
@@ -119,12 +783,126 @@ public abstract class CharSequenceTranslator {
                 }
                 continue;
             }
-            // contract with translators is that they have to understand code points
-            // and they just took care of a surrogate pair
-            for (int pt = 0; pt < consumed; pt++) {
-                pos += Character.charCount(Character.codePointAt(input, pos));
+            pos += consumed;
+        }
+        return pos;
+    }
+
+    /**
+     * Translates an input, splitting it into chunks translated concurrently in the given pool.
+     * <p>
+     * The output is the same as the one of {@link #translate(CharSequence)}. The input is only split where no translation can straddle the split: this needs
+     * a known {@link #getLookahead()} and a run of that many chars for which {@link #isTranslatable(char)} is {@code false}, and never splits a surrogate
+     * pair. Inputs of translators with an unknown lookahead, inputs without such runs and small inputs are translated by the calling thread. The input must
+     * not be modified while it is translated.
+     * </p>
+     *
+     * @param input CharSequence to be translated, may be null.
+     * @param pool  ForkJoinPool to translate the chunks in.
+     * @return String output of translation.
+     * @since 1.15.1
+     */
+    public final String translateParallel(final CharSequence input, final ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool");
+        if (input == null) {
+            return null;
+        }
+        return translateParallel(input, pool, Math.max(MIN_PARALLEL_CHUNK, input.length() / (4 * pool.getParallelism())));
+    }
+
+    /**
+     * Translates an input in chunks of about the given size, translated concurrently in the given pool.
+     *
+     * @param input     CharSequence to be translated.
+     * @param pool      ForkJoinPool to translate the chunks in.
+     * @param chunkSize the number of chars from which a chunk may end.
+     * @return String output of translation.
+     */
+    String translateParallel(final CharSequence input, final ForkJoinPool pool, final int chunkSize) {
+        final int lookahead = getLookahead();
+        final int len = input.length();
+        if (lookahead < 0 || len < 2 * chunkSize) {
+            return translate(input);
+        }
+        final int window = Math.max(lookahead, 2);
+        final List<Integer> splits = new ArrayList<>();
+        int split = 0;
+        while (len - split >= 2 * chunkSize && (split = indexOfSplit(input, split + chunkSize, window)) < len) {
+            splits.add(split);
+        }
+        if (splits.isEmpty()) {
+            return translate(input);
+        }
+        splits.add(len);
+        final List<ForkJoinTask<StringBuilder>> tasks = new ArrayList<>(splits.size());
+        int start = 0;
+        for (final int end : splits) {
+            final int from = start;
+            tasks.add(pool.submit(() -> translateChunk(input, from, end)));
+            start = end;
+        }
+        final List<StringBuilder> chunks = new ArrayList<>(tasks.size());
+        int outputLength = 0;
+        for (final ForkJoinTask<StringBuilder> task : tasks) {
+            final StringBuilder chunk = task.join();
+            if (chunk == null) {
+                // a translation straddled a split, this translator examines more than its lookahead
+                return translate(input);
+            }
+            chunks.add(chunk);
+            outputLength += chunk.length();
+        }
+        final StringBuilder builder = new StringBuilder(outputLength);
+        chunks.forEach(builder::append);
+        return builder.toString();
+    }
+
+    /**
+     * Finds the first index at or after the given one where an input can be split without changing its translation: the {@code window - 1} chars before it
+     * are not translatable, so that translations starting before the index stop at it, and it does not split a surrogate pair.
+     *
+     * @param input  CharSequence that is being translated.
+     * @param index  int index to start looking at.
+     * @param window the lookahead, at least 2.
+     * @return the index to split at, or the length of the input if there is none.
+     */
+    private int indexOfSplit(final CharSequence input, final int index, final int window) {
+        final int len = input.length();
+        int pos = index;
+        while (pos < len) {
+            final int low = Math.max(pos - window + 1, 0);
+            int i = pos - 1;
+            while (i >= low && !mayTranslate(input.charAt(i))) {
+                i--;
+            }
+            if (i >= low) {
+                // the window holds a translatable char, move it past that char
+                pos = i + window;
+            } else if (Character.isLowSurrogate(input.charAt(pos)) && Character.isHighSurrogate(input.charAt(pos - 1))) {
+                pos++;
+            } else {
+                return pos;
             }
         }
+        return len;
+    }
+
+    /**
+     * Translates a chunk of an input.
+     *
+     * @param input CharSequence that is being translated.
+     * @param start index of the first char of the chunk.
+     * @param end   index after the last char of the chunk.
+     * @return the translation of the chunk, or null if the last translation consumed chars past its end.
+     */
+    private StringBuilder translateChunk(final CharSequence input, final int start, final int end) {
+        final StringBuilder builder = new StringBuilder(end - start + 16);
+        try {
+            return translateRegion(input, start, end, new AppendableWriter(builder)) == end ? builder : null;
+        } catch (final IOException ioe) {
+            // this should never ever happen while writing to a StringBuilder
+            throw new UncheckedIOException(ioe);
+        }
     }
 
     /**
@@ -34,6 +34,25 @@ public abstract class CodePointTranslator extends CharSequenceTranslator {
         // empty
     }
 
+    /**
+     * Gets the lookahead of a code point translator: a code point spans at most 2 chars.
+     *
+     * @return 2.
+     * @since 1.15.1
+     */
+    @Override
+    public int getLookahead() {
+        return 2;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    final boolean isCodePointTranslator() {
+        return true;
+    }
+
     @Override
     public final int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
         final int codePoint = Character.codePointAt(input, index);
@@ -41,6 +60,15 @@ public abstract class CodePointTranslator extends CharSequenceTranslator {
         return consumed ? 1 : 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    final int translateChars(final CharSequence input, final int index, final Writer writer) throws IOException {
+        final int codePoint = Character.codePointAt(input, index);
+        return translate(codePoint, writer) ? Character.charCount(codePoint) : 0;
+    }
+
     /**
      * Translates the specified code point into another.
      *
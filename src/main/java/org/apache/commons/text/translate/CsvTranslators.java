@@ -17,11 +17,12 @@
 package org.apache.commons.text.translate;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.CharUtils;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.Strings;
+import org.apache.commons.lang3.Validate;
 
 /**
  * Holds inner classes for escaping/unescaping Comma Separated Values.
@@ -34,6 +35,379 @@ import org.apache.commons.lang3.Strings;
  */
 public final class CsvTranslators {
 
+    /**
+     * Describes how values are quoted and separated in a CSV dialect, and escapes and unescapes values and rows of that dialect.
+     * <p>
+     * A value is quoted when it contains the delimiter, the quote char, a CR, an LF or a char of the record separator, or always when
+     * {@link Builder#setQuoteAll(boolean)} is set; quote chars inside a quoted value are doubled. Values are escaped in a single scan and written directly,
+     * without intermediate Strings.
+     * </p>
+     * <p>
+     * Instances are immutable and thread-safe.
+     * </p>
+     *
+     * @since 1.15.1
+     */
+    public static final class CsvDialect {
+
+        /**
+         * Builds instances of {@link CsvDialect}.
+         */
+        public static final class Builder implements Supplier<CsvDialect> {
+
+            /** The delimiter. */
+            private char delimiter = CSV_DELIMITER;
+
+            /** The quote char. */
+            private char quote = CSV_QUOTE;
+
+            /** The record separator. */
+            private String recordSeparator = CRLF;
+
+            /** Whether to quote every value. */
+            private boolean quoteAll;
+
+            /**
+             * Constructs a new instance with the settings of {@link CsvDialect#DEFAULT}.
+             */
+            public Builder() {
+                // empty
+            }
+
+            /**
+             * Builds a new dialect.
+             *
+             * @return a new dialect.
+             * @throws IllegalArgumentException if the delimiter is the quote char or the record separator contains one of them.
+             */
+            @Override
+            public CsvDialect get() {
+                return new CsvDialect(this);
+            }
+
+            /**
+             * Sets the char separating the values of a row, {@code ','} by default.
+             *
+             * @param delimiter the delimiter.
+             * @return {@code this} instance.
+             */
+            public Builder setDelimiter(final char delimiter) {
+                this.delimiter = delimiter;
+                return this;
+            }
+
+            /**
+             * Sets the char quoting values, {@code '"'} by default.
+             *
+             * @param quote the quote char.
+             * @return {@code this} instance.
+             */
+            public Builder setQuote(final char quote) {
+                this.quote = quote;
+                return this;
+            }
+
+            /**
+             * Sets whether every value is quoted, {@code false} by default: only values that need it are quoted.
+             *
+             * @param quoteAll whether to quote every value.
+             * @return {@code this} instance.
+             */
+            public Builder setQuoteAll(final boolean quoteAll) {
+                this.quoteAll = quoteAll;
+                return this;
+            }
+
+            /**
+             * Sets the String ending each row, {@code "\r\n"} by default.
+             *
+             * @param recordSeparator the record separator, may not be null.
+             * @return {@code this} instance.
+             */
+            public Builder setRecordSeparator(final String recordSeparator) {
+                this.recordSeparator = Validate.notNull(recordSeparator, "recordSeparator");
+                return this;
+            }
+        }
+
+        /** The dialect of RFC 4180: comma delimiter, double quote and CRLF record separator, values quoted when needed. */
+        public static final CsvDialect DEFAULT = builder().get();
+
+        /**
+         * Constructs a new {@link Builder}.
+         *
+         * @return a new {@link Builder}.
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Finds a char in a range of a CharSequence.
+         *
+         * @param input the CharSequence to search.
+         * @param ch    the char to find.
+         * @param index the index to start at.
+         * @param end   the index to stop at.
+         * @return the index of the char, or {@code end} if it is not found.
+         */
+        private static int indexOf(final CharSequence input, final char ch, final int index, final int end) {
+            if (input instanceof String) {
+                final int i = ((String) input).indexOf(ch, index);
+                return i < 0 || i > end ? end : i;
+            }
+            for (int i = index; i < end; i++) {
+                if (input.charAt(i) == ch) {
+                    return i;
+                }
+            }
+            return end;
+        }
+
+        /** The delimiter. */
+        private final char delimiter;
+
+        /** The quote char. */
+        private final char quote;
+
+        /** The record separator. */
+        private final String recordSeparator;
+
+        /** Whether to quote every value. */
+        private final boolean quoteAll;
+
+        /** The chars that make a value quoted. */
+        private final char[] specials;
+
+        /** Scans for the chars that make a value quoted, when they are all ASCII, or null. */
+        private final AsciiScanner scanner;
+
+        /** Escapes single values. */
+        private final CharSequenceTranslator escaper = new SinglePassTranslator() {
+
+            @Override
+            int indexOfTranslatable(final CharSequence input, final int index, final int end) {
+                return index == 0 && (quoteAll || indexOfSpecial(input, 0, end) < end) ? 0 : end;
+            }
+
+            @Override
+            void translateWhole(final CharSequence input, final Writer writer) throws IOException {
+                escape(input, writer);
+            }
+        };
+
+        /** Unescapes single values. */
+        private final CharSequenceTranslator unescaper = new SinglePassTranslator() {
+
+            @Override
+            void translateWhole(final CharSequence input, final Writer writer) throws IOException {
+                unescape(input, writer);
+            }
+        };
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param builder the builder holding the settings.
+         */
+        private CsvDialect(final Builder builder) {
+            this.delimiter = builder.delimiter;
+            this.quote = builder.quote;
+            this.recordSeparator = builder.recordSeparator;
+            this.quoteAll = builder.quoteAll;
+            Validate.isTrue(delimiter != quote, "The delimiter and the quote must differ: %s", delimiter);
+            Validate.isTrue(recordSeparator.indexOf(delimiter) < 0 && recordSeparator.indexOf(quote) < 0,
+                    "The record separator must not contain the delimiter or the quote: %s", recordSeparator);
+            this.specials = (String.valueOf(new char[] { delimiter, quote, CharUtils.CR, CharUtils.LF }) + recordSeparator).toCharArray();
+            boolean ascii = true;
+            for (final char c : specials) {
+                ascii &= c < 0x80;
+            }
+            this.scanner = ascii ? new AsciiScanner(specials) : null;
+        }
+
+        /**
+         * Escapes a value onto a Writer.
+         *
+         * @param input  the value to escape.
+         * @param writer the Writer to write to.
+         * @throws IOException Thrown if and only if the Writer produces an IOException.
+         */
+        void escape(final CharSequence input, final Writer writer) throws IOException {
+            final int len = input.length();
+            final int special = indexOfSpecial(input, 0, len);
+            if (special == len && !quoteAll) {
+                CharSequenceTranslator.write(input, 0, len, writer);
+                return;
+            }
+            writer.write(quote);
+            // the chars before the first special char hold no quote, resume the scan there for quotes only
+            int start = 0;
+            int pos = indexOf(input, quote, special, len);
+            while (pos < len) {
+                CharSequenceTranslator.write(input, start, pos + 1, writer);
+                writer.write(quote);
+                start = pos + 1;
+                pos = indexOf(input, quote, start, len);
+            }
+            CharSequenceTranslator.write(input, start, len, writer);
+            writer.write(quote);
+        }
+
+        /**
+         * Escapes the values of a row onto an Appendable, separated by the delimiter and followed by the record separator.
+         *
+         * @param values     the values of the row, null values are written as empty values.
+         * @param appendable the Appendable to write to.
+         * @throws IOException Thrown if and only if the Appendable produces an IOException.
+         */
+        public void escapeRow(final CharSequence[] values, final Appendable appendable) throws IOException {
+            Validate.isTrue(appendable != null, "The Appendable must not be null");
+            escapeRow(values, appendable instanceof Writer ? (Writer) appendable : new AppendableWriter(appendable));
+        }
+
+        /**
+         * Escapes the values of a row onto a StringBuilder, separated by the delimiter and followed by the record separator.
+         *
+         * @param values  the values of the row, null values are written as empty values.
+         * @param builder the StringBuilder to write to.
+         * @return the given builder.
+         */
+        public StringBuilder escapeRow(final CharSequence[] values, final StringBuilder builder) {
+            Validate.isTrue(builder != null, "The StringBuilder must not be null");
+            try {
+                escapeRow(values, new AppendableWriter(builder));
+            } catch (final IOException ioe) {
+                // this should never ever happen while writing to a StringBuilder
+                throw new UncheckedIOException(ioe);
+            }
+            return builder;
+        }
+
+        /**
+         * Escapes the values of a row onto a Writer.
+         *
+         * @param values the values of the row.
+         * @param writer the Writer to write to.
+         * @throws IOException Thrown if and only if the Writer produces an IOException.
+         */
+        private void escapeRow(final CharSequence[] values, final Writer writer) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(delimiter);
+                }
+                escape(values[i] != null ? values[i] : "", writer);
+            }
+            writer.write(recordSeparator);
+        }
+
+        /**
+         * Gets the char separating the values of a row.
+         *
+         * @return the delimiter.
+         */
+        public char getDelimiter() {
+            return delimiter;
+        }
+
+        /**
+         * Gets a translator escaping single values of this dialect.
+         * <p>
+         * Like {@link CsvEscaper}, the translator only translates whole inputs; an empty input is left empty even when every value is quoted.
+         * </p>
+         *
+         * @return a translator escaping single values.
+         */
+        public CharSequenceTranslator getEscaper() {
+            return escaper;
+        }
+
+        /**
+         * Gets the char quoting values.
+         *
+         * @return the quote char.
+         */
+        public char getQuote() {
+            return quote;
+        }
+
+        /**
+         * Gets the String ending each row.
+         *
+         * @return the record separator.
+         */
+        public String getRecordSeparator() {
+            return recordSeparator;
+        }
+
+        /**
+         * Gets a translator unescaping single values of this dialect: a value enclosed in quote chars is unquoted and its doubled quote chars are
+         * undoubled, other values are left as they are.
+         *
+         * @return a translator unescaping single values.
+         */
+        public CharSequenceTranslator getUnescaper() {
+            return unescaper;
+        }
+
+        /**
+         * Finds the first char that makes a value quoted.
+         *
+         * @param input the value.
+         * @param index the index to start at.
+         * @param end   the index to stop at.
+         * @return the index of the char, or {@code end} if there is none.
+         */
+        int indexOfSpecial(final CharSequence input, final int index, final int end) {
+            if (scanner != null) {
+                return scanner.indexIn(input, index, end);
+            }
+            for (int i = index; i < end; i++) {
+                final char c = input.charAt(i);
+                for (final char special : specials) {
+                    if (c == special) {
+                        return i;
+                    }
+                }
+            }
+            return end;
+        }
+
+        /**
+         * Tests whether every value is quoted.
+         *
+         * @return whether every value is quoted.
+         */
+        public boolean isQuoteAll() {
+            return quoteAll;
+        }
+
+        /**
+         * Unescapes a value onto a Writer.
+         *
+         * @param input  the value to unescape.
+         * @param writer the Writer to write to.
+         * @throws IOException Thrown if and only if the Writer produces an IOException.
+         */
+        void unescape(final CharSequence input, final Writer writer) throws IOException {
+            final int len = input.length();
+            // Is input not quoted? A single character cannot be wrapped in a leading and trailing quote.
+            if (len < 2 || input.charAt(0) != quote || input.charAt(len - 1) != quote) {
+                CharSequenceTranslator.write(input, 0, len, writer);
+                return;
+            }
+            // strip quotes and deal with escaped quotes: "" -> "
+            final int end = len - 1;
+            int start = 1;
+            int pos;
+            while ((pos = indexOf(input, quote, start, end)) < end) {
+                CharSequenceTranslator.write(input, start, pos + 1, writer);
+                start = pos + 1 < end && input.charAt(pos + 1) == quote ? pos + 2 : pos + 1;
+            }
+            CharSequenceTranslator.write(input, start, end, writer);
+        }
+    }
+
     /**
      * Translator for escaping Comma Separated Values.
      */
@@ -46,17 +420,20 @@ public final class CsvTranslators {
             // empty
         }
 
+        /**
+         * {@inheritDoc}
+         * <p>
+         * Input without chars to quote is left as it is, and quoted input is translated as a whole at index 0.
+         * </p>
+         */
+        @Override
+        int indexOfTranslatable(final CharSequence input, final int index, final int end) {
+            return index == 0 && CsvDialect.DEFAULT.indexOfSpecial(input, 0, end) < end ? 0 : end;
+        }
+
         @Override
         void translateWhole(final CharSequence input, final Writer writer) throws IOException {
-            final String inputString = input.toString();
-            if (StringUtils.containsNone(inputString, CSV_SEARCH_CHARS)) {
-                writer.write(inputString);
-            } else {
-                // input needs quoting
-                writer.write(CSV_QUOTE);
-                writer.write(Strings.CS.replace(inputString, CSV_QUOTE_STR, CSV_ESCAPED_QUOTE_STR));
-                writer.write(CSV_QUOTE);
-            }
+            CsvDialect.DEFAULT.escape(input, writer);
         }
     }
 
@@ -74,19 +451,7 @@ public final class CsvTranslators {
 
         @Override
         void translateWhole(final CharSequence input, final Writer writer) throws IOException {
-            // Is input not quoted? A single character cannot be wrapped in a leading and trailing quote.
-            if (input.length() < 2 || input.charAt(0) != CSV_QUOTE || input.charAt(input.length() - 1) != CSV_QUOTE) {
-                writer.write(input.toString());
-                return;
-            }
-            // strip quotes
-            final String quoteless = input.subSequence(1, input.length() - 1).toString();
-            if (StringUtils.containsAny(quoteless, CSV_SEARCH_CHARS)) {
-                // deal with escaped quotes: "" -> "
-                writer.write(Strings.CS.replace(quoteless, CSV_ESCAPED_QUOTE_STR, CSV_QUOTE_STR));
-            } else {
-                writer.write(quoteless);
-            }
+            CsvDialect.DEFAULT.unescape(input, writer);
         }
     }
 
@@ -96,14 +461,8 @@ public final class CsvTranslators {
     /** Quote character. */
     private static final char CSV_QUOTE = '"';
 
-    /** Quote character converted to string. */
-    private static final String CSV_QUOTE_STR = String.valueOf(CSV_QUOTE);
-
-    /** Escaped quote string. */
-    private static final String CSV_ESCAPED_QUOTE_STR = CSV_QUOTE_STR + CSV_QUOTE_STR;
-
-    /** CSV key characters in an array. */
-    private static final char[] CSV_SEARCH_CHARS = { CSV_DELIMITER, CSV_QUOTE, CharUtils.CR, CharUtils.LF };
+    /** The record separator of RFC 4180. */
+    private static final String CRLF = "\r\n";
 
     /** Hidden constructor. */
     private CsvTranslators() {
@@ -447,6 +447,42 @@ public class EntityArrays {
         return map.entrySet().stream().collect(Collectors.toMap(Entry::getValue, Entry::getKey));
     }
 
+    /**
+     * Converts escape Maps whose keys are single code points into an array indexed by code point.
+     * <p>
+     * The array is as long as the largest key plus one, entries for code points that are not keys are null. When maps share a key, the first one wins. Each
+     * call returns a new array that the caller may modify.
+     * </p>
+     *
+     * @param maps Maps&lt;CharSequence, CharSequence&gt; with single code point keys, such as {@link #BASIC_ESCAPE} or {@link #HTML40_EXTENDED_ESCAPE}.
+     * @return the translation of each code point, or null.
+     * @throws IllegalArgumentException if a key is not a single code point.
+     * @see TableTranslator
+     * @since 1.15.1
+     */
+    @SafeVarargs
+    public static String[] toCodePointTable(final Map<CharSequence, CharSequence>... maps) {
+        int max = -1;
+        for (final Map<CharSequence, CharSequence> map : maps) {
+            for (final CharSequence key : map.keySet()) {
+                if (key.length() == 0 || key.length() != Character.charCount(Character.codePointAt(key, 0))) {
+                    throw new IllegalArgumentException("Key is not a single code point: " + key);
+                }
+                max = Math.max(max, Character.codePointAt(key, 0));
+            }
+        }
+        final String[] table = new String[max + 1];
+        for (final Map<CharSequence, CharSequence> map : maps) {
+            for (final Entry<CharSequence, CharSequence> entry : map.entrySet()) {
+                final int codePoint = Character.codePointAt(entry.getKey(), 0);
+                if (table[codePoint] == null) {
+                    table[codePoint] = entry.getValue().toString();
+                }
+            }
+        }
+        return table;
+    }
+
     /**
      * Deprecated, only defines static methods.
      *
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Translates named entities and numeric entities of the form &amp;#[xX]?\d+; to the specific code point, in a single dispatch on the char following the
+ * {@code &}.
+ * <p>
+ * The result is the same as the one of an {@link AggregateTranslator} of a {@link LookupTranslator} for each map of named entities followed by a
+ * {@link NumericEntityUnescaper}, but a numeric entity does not go through the lookups first. Named entities are looked up once in all the maps merged,
+ * unless a name of a map is a proper prefix of a name of a later map: the first map matching a prefix of the input then wins, so the maps are looked up in
+ * turn.
+ * </p>
+ *
+ * @since 1.15.1
+ */
+public class EntityUnescaper extends CharSequenceTranslator {
+
+    /** The named entities, one lookup for all maps or one lookup per map to try in turn. */
+    private final LookupTranslator[] named;
+
+    /** The numeric entities. */
+    private final NumericEntityUnescaper numeric = new NumericEntityUnescaper();
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param entities maps of named entities, including the {@code &} and {@code ;}, to their unescaped value; when maps share a name, the first one wins.
+     *                 Names starting with {@code #} are not looked up.
+     * @throws IllegalArgumentException if a name does not start with {@code &}, it would never be looked up.
+     */
+    @SafeVarargs
+    public EntityUnescaper(final Map<CharSequence, CharSequence>... entities) {
+        final Map<CharSequence, CharSequence> merged = new HashMap<>();
+        boolean prefixed = false;
+        for (final Map<CharSequence, CharSequence> map : entities) {
+            for (final CharSequence key : map.keySet()) {
+                Validate.isTrue(key.length() > 0 && key.charAt(0) == '&', "The name of an entity must start with '&': %s", key);
+                // a name of an earlier map that is a proper prefix of this one wins over it
+                for (int i = 1; i < key.length() && !prefixed; i++) {
+                    prefixed = merged.containsKey(key.subSequence(0, i).toString());
+                }
+            }
+            for (final Map.Entry<CharSequence, CharSequence> entry : map.entrySet()) {
+                merged.putIfAbsent(entry.getKey().toString(), entry.getValue());
+            }
+        }
+        if (prefixed) {
+            this.named = new LookupTranslator[entities.length];
+            for (int i = 0; i < entities.length; i++) {
+                named[i] = new LookupTranslator(entities[i]);
+            }
+        } else {
+            this.named = new LookupTranslator[] { new LookupTranslator(merged) };
+        }
+    }
+
+    /**
+     * Gets the lookahead of this unescaper, unknown like the one of {@link NumericEntityUnescaper}.
+     *
+     * @return -1.
+     */
+    @Override
+    public int getLookahead() {
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return ch == '&';
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+        if (input.charAt(index) != '&') {
+            return 0;
+        }
+        if (index + 1 < input.length() && input.charAt(index + 1) == '#') {
+            return numeric.translate(input, index, writer);
+        }
+        for (final LookupTranslator lookup : named) {
+            final int consumed = lookup.translate(input, index, writer);
+            if (consumed != 0) {
+                return consumed;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Builds an escaper from declarative rules, compiled into a single table driven translator.
+ * <p>
+ * Rules apply in the order they are added and the first rule matching the input wins, as with an {@link AggregateTranslator}. Consecutive rules for single
+ * code points are gathered in one {@link TableTranslator}, and the whole sequence is compiled with {@link AggregateTranslator#compile()}, so that a custom
+ * escaper costs a table lookup per char like the escapers of {@link org.apache.commons.text.StringEscapeUtils}.
+ * </p>
+ * <p>Example, escaping Markdown:</p>
+ * <pre>
+ * CharSequenceTranslator markdown = new EscaperBuilder()
+ *      .escape(EntityArrays.BASIC_ESCAPE)
+ *      .escape("\\`*_{}[]()#+-.!|", "\\")
+ *      .removeUnpairedSurrogates()
+ *      .get();
+ * </pre>
+ *
+ * @since 1.15.1
+ */
+public final class EscaperBuilder implements Supplier<CharSequenceTranslator> {
+
+    /** The translators of the rules added so far, except the pending code points. */
+    private final List<CharSequenceTranslator> translators = new ArrayList<>();
+
+    /** The replacements of the single code points added since the last other rule, or null. */
+    private Map<CharSequence, CharSequence> codePoints;
+
+    /**
+     * Constructs a new instance without rules.
+     */
+    public EscaperBuilder() {
+        // empty
+    }
+
+    /**
+     * Adds a rule replacing a single code point, gathered with the adjacent ones in a table.
+     *
+     * @param codePoint   the code point to replace.
+     * @param replacement its replacement.
+     */
+    private void addCodePoint(final int codePoint, final String replacement) {
+        Validate.isTrue(Character.isValidCodePoint(codePoint), "Invalid code point: %d", codePoint);
+        Objects.requireNonNull(replacement, "replacement");
+        if (codePoints == null) {
+            codePoints = new HashMap<>();
+        }
+        // the first rule wins
+        codePoints.putIfAbsent(new String(Character.toChars(codePoint)), replacement);
+    }
+
+    /**
+     * Adds a rule executing the given translator.
+     *
+     * @param translator the translator.
+     * @return {@code this} instance.
+     */
+    private EscaperBuilder addTranslator(final CharSequenceTranslator translator) {
+        flush();
+        translators.add(translator);
+        return this;
+    }
+
+    /**
+     * Adds a rule replacing each of the given chars by itself preceded by a prefix, for example a backslash.
+     *
+     * @param chars  the chars to escape.
+     * @param prefix the prefix written before each char.
+     * @return {@code this} instance.
+     */
+    public EscaperBuilder escape(final CharSequence chars, final String prefix) {
+        Objects.requireNonNull(prefix, "prefix");
+        chars.codePoints().forEach(codePoint -> addCodePoint(codePoint, prefix + new String(Character.toChars(codePoint))));
+        return this;
+    }
+
+    /**
+     * Adds a rule replacing a code point.
+     *
+     * @param codePoint   the code point to replace.
+     * @param replacement its replacement.
+     * @return {@code this} instance.
+     * @throws IllegalArgumentException if the code point is not valid.
+     */
+    public EscaperBuilder escape(final int codePoint, final String replacement) {
+        addCodePoint(codePoint, replacement);
+        return this;
+    }
+
+    /**
+     * Adds a rule replacing the keys of a map, such as the ones of {@link EntityArrays}.
+     * <p>
+     * When every key is a single code point, they are gathered in a table with the adjacent code point rules; otherwise the map becomes a
+     * {@link LookupTranslator} matching the longest key.
+     * </p>
+     *
+     * @param replacements Map&lt;CharSequence, CharSequence&gt; from what to replace to its replacement.
+     * @return {@code this} instance.
+     */
+    public EscaperBuilder escape(final Map<CharSequence, CharSequence> replacements) {
+        for (final CharSequence key : replacements.keySet()) {
+            if (key.length() == 0 || key.length() != Character.charCount(Character.codePointAt(key, 0))) {
+                return addTranslator(new LookupTranslator(replacements));
+            }
+        }
+        replacements.forEach((key, value) -> addCodePoint(Character.codePointAt(key, 0), value.toString()));
+        return this;
+    }
+
+    /**
+     * Adds a rule escaping the code points between two boundaries to numeric entities such as {@code &#233;}.
+     *
+     * @param codePointLow  the lowest code point to escape.
+     * @param codePointHigh the highest code point to escape.
+     * @return {@code this} instance.
+     * @see NumericEntityEscaper#between(int, int)
+     */
+    public EscaperBuilder escapeBetweenAsNumericEntities(final int codePointLow, final int codePointHigh) {
+        return addTranslator(NumericEntityEscaper.between(codePointLow, codePointHigh));
+    }
+
+    /**
+     * Adds a rule escaping the code points outside of two boundaries to numeric entities such as {@code &#233;}.
+     *
+     * @param codePointLow  the lowest code point not to escape.
+     * @param codePointHigh the highest code point not to escape.
+     * @return {@code this} instance.
+     * @see NumericEntityEscaper#outsideOf(int, int)
+     */
+    public EscaperBuilder escapeOutsideAsNumericEntities(final int codePointLow, final int codePointHigh) {
+        return addTranslator(NumericEntityEscaper.outsideOf(codePointLow, codePointHigh));
+    }
+
+    /**
+     * Adds a rule escaping the code points outside of two boundaries to Java Unicode escapes such as {@code \\u00E9}, supplementary code points as a
+     * surrogate pair of escapes.
+     *
+     * @param codePointLow  the lowest code point not to escape.
+     * @param codePointHigh the highest code point not to escape.
+     * @return {@code this} instance.
+     * @see JavaUnicodeEscaper#outsideOf(int, int)
+     */
+    public EscaperBuilder escapeOutsideAsUnicode(final int codePointLow, final int codePointHigh) {
+        return addTranslator(JavaUnicodeEscaper.outsideOf(codePointLow, codePointHigh));
+    }
+
+    /**
+     * Moves the pending code point rules to a table translator.
+     */
+    private void flush() {
+        if (codePoints != null) {
+            translators.add(new TableTranslator(codePoints));
+            codePoints = null;
+        }
+    }
+
+    /**
+     * Builds a translator applying the rules added so far.
+     *
+     * @return a new translator.
+     */
+    @Override
+    public CharSequenceTranslator get() {
+        flush();
+        if (translators.size() == 1 && translators.get(0) instanceof TableTranslator) {
+            return translators.get(0);
+        }
+        return new AggregateTranslator(translators.toArray(new CharSequenceTranslator[0])).compile();
+    }
+
+    /**
+     * Adds a rule removing the given code points.
+     *
+     * @param codePoints the code points to remove.
+     * @return {@code this} instance.
+     * @throws IllegalArgumentException if a code point is not valid.
+     */
+    public EscaperBuilder remove(final int... codePoints) {
+        for (final int codePoint : codePoints) {
+            addCodePoint(codePoint, "");
+        }
+        return this;
+    }
+
+    /**
+     * Adds a rule removing unpaired surrogates.
+     *
+     * @return {@code this} instance.
+     * @see UnicodeUnpairedSurrogateRemover
+     */
+    public EscaperBuilder removeUnpairedSurrogates() {
+        return addTranslator(new UnicodeUnpairedSurrogateRemover());
+    }
+
+    /**
+     * Adds rules executing the given translators, in order.
+     *
+     * @param translators the translators.
+     * @return {@code this} instance.
+     */
+    public EscaperBuilder with(final CharSequenceTranslator... translators) {
+        for (final CharSequenceTranslator translator : translators) {
+            addTranslator(Objects.requireNonNull(translator, "translator"));
+        }
+        return this;
+    }
+}
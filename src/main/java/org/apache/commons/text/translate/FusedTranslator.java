@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Executes a sequence of translators like {@link AggregateTranslator}, but decides with a single table lookup on the char at the translation index which
+ * translator, if any, must be tried first.
+ * <p>
+ * The table holds one action per char, split into pages of 256 chars that are computed the first time a char of the page is translated, so that unused
+ * parts of the char range cost nothing. Pages with the same action for every char are shared. An action either passes the char through untouched, writes
+ * the translation of a single char key of a {@link LookupTranslator} or {@link TableTranslator} directly, or resumes the sequence at the first translator
+ * that may consume input starting with that char.
+ * </p>
+ *
+ * @see AggregateTranslator#compile()
+ */
+final class FusedTranslator extends CharSequenceTranslator {
+
+    /**
+     * The actions for 256 consecutive chars. Instances are published through a data race, the final fields make that safe.
+     */
+    private static final class Page {
+
+        /** The action for each char of the page. */
+        private final byte[] actions;
+
+        /** The replacement for each char of the page with a {@link #REPLACE} action, or null if there are none. */
+        private final String[] replacements;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param actions      the action for each char of the page.
+         * @param replacements the replacement for each char of the page, or null.
+         */
+        Page(final byte[] actions, final String[] replacements) {
+            this.actions = actions;
+            this.replacements = replacements;
+        }
+    }
+
+    /** Action: no translator consumes input starting with the char. */
+    private static final int PASS = 0;
+
+    /** Action: write the replacement for the char. */
+    private static final int REPLACE = 0xFF;
+
+    /** The largest translator index that fits in an action, later translators are reached by the sequential search. */
+    private static final int MAX_DISPATCH = REPLACE - 2;
+
+    /** Number of bits of a char used to index into a page. */
+    private static final int PAGE_SHIFT = 8;
+
+    /** Mask for the index into a page. */
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+
+    /** Number of pages covering all chars. */
+    private static final int PAGE_COUNT = (Character.MAX_VALUE + 1) >> PAGE_SHIFT;
+
+    /** The translators to execute, in order, nested aggregates flattened. */
+    private final CharSequenceTranslator[] translators;
+
+    /** The pages computed so far. */
+    private final Page[] pages = new Page[PAGE_COUNT];
+
+    /** The shared pages with the same action for every char, by action. */
+    private final Page[] uniformPages = new Page[REPLACE];
+
+    /** Scans for the ASCII chars that are not passed through. */
+    private final AsciiScanner asciiScanner;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param translators the translators to execute in order, none of which is an {@link AggregateTranslator}.
+     */
+    FusedTranslator(final CharSequenceTranslator[] translators) {
+        this.translators = translators;
+        final StringBuilder ascii = new StringBuilder();
+        for (char c = 0; c < 0x80; c++) {
+            if (isTranslatable(c)) {
+                ascii.append(c);
+            }
+        }
+        this.asciiScanner = new AsciiScanner(ascii.toString().toCharArray());
+    }
+
+    /**
+     * Adds the translators executed by this instance to the given list.
+     *
+     * @param list the list to add to.
+     */
+    void addTo(final List<CharSequenceTranslator> list) {
+        list.addAll(Arrays.asList(translators));
+    }
+
+    /**
+     * Computes the page holding the given char.
+     *
+     * @param ch a char of the page.
+     * @return the page.
+     */
+    private Page computePage(final char ch) {
+        final int base = ch & ~PAGE_MASK;
+        final byte[] actions = new byte[PAGE_MASK + 1];
+        String[] replacements = null;
+        boolean uniform = true;
+        for (int i = 0; i <= PAGE_MASK; i++) {
+            final char c = (char) (base + i);
+            int action = PASS;
+            for (int t = 0; t < translators.length; t++) {
+                final CharSequenceTranslator translator = translators[t];
+                if (translator.mayTranslate(c)) {
+                    // Only trust LookupTranslator itself, a subclass may override translate(); TableTranslator is final
+                    final String replacement;
+                    if (translator.getClass() == LookupTranslator.class) {
+                        replacement = ((LookupTranslator) translator).getSingleCharTranslation(c);
+                    } else if (translator instanceof TableTranslator) {
+                        replacement = ((TableTranslator) translator).getSingleCharTranslation(c);
+                    } else {
+                        replacement = null;
+                    }
+                    if (replacement != null) {
+                        if (replacements == null) {
+                            replacements = new String[PAGE_MASK + 1];
+                        }
+                        replacements[i] = replacement;
+                        action = REPLACE;
+                    } else {
+                        action = Math.min(t, MAX_DISPATCH) + 1;
+                    }
+                    break;
+                }
+            }
+            actions[i] = (byte) action;
+            uniform &= actions[i] == actions[0];
+        }
+        final Page page;
+        if (uniform && replacements == null) {
+            final int action = actions[0] & 0xFF;
+            final Page shared = uniformPages[action];
+            page = shared != null ? shared : new Page(actions, null);
+            uniformPages[action] = page;
+        } else {
+            page = new Page(actions, replacements);
+        }
+        pages[ch >> PAGE_SHIFT] = page;
+        return page;
+    }
+
+    /**
+     * Gets the page holding the given char.
+     *
+     * @param ch a char of the page.
+     * @return the page.
+     */
+    private Page page(final char ch) {
+        final Page page = pages[ch >> PAGE_SHIFT];
+        return page != null ? page : computePage(ch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLookahead() {
+        return AggregateTranslator.maxLookahead(Arrays.asList(translators));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int indexOfTranslatable(final CharSequence input, final int index, final int end) {
+        final int len = input.length();
+        int pos = index;
+        // the scanner skips runs of ASCII chars passed through, a few chars at a time
+        while ((pos = asciiScanner.indexOf(input, pos, end)) < end) {
+            final char c1 = input.charAt(pos);
+            if (c1 < 0x80 || page(c1).actions[c1 & PAGE_MASK] != PASS) {
+                return pos;
+            }
+            pos++;
+            if (Character.isHighSurrogate(c1) && pos < len && Character.isLowSurrogate(input.charAt(pos))) {
+                pos++;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean isCodePointTranslator() {
+        return AggregateTranslator.isCodePointTranslators(Arrays.asList(translators));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return page(ch).actions[ch & PAGE_MASK] != PASS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+        final char ch = input.charAt(index);
+        final Page page = page(ch);
+        final int action = page.actions[ch & PAGE_MASK] & 0xFF;
+        if (action == PASS) {
+            return 0;
+        }
+        if (action == REPLACE) {
+            writer.write(page.replacements[ch & PAGE_MASK]);
+            return 1;
+        }
+        for (int t = action - 1; t < translators.length; t++) {
+            final int consumed = translators[t].translate(input, index, writer);
+            if (consumed != 0) {
+                return consumed;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int translateChars(final CharSequence input, final int index, final Writer writer) throws IOException {
+        final char ch = input.charAt(index);
+        final Page page = page(ch);
+        final int action = page.actions[ch & PAGE_MASK] & 0xFF;
+        if (action == PASS) {
+            return 0;
+        }
+        if (action == REPLACE) {
+            writer.write(page.replacements[ch & PAGE_MASK]);
+            // the key of a replacement is a single code point
+            return Character.isHighSurrogate(ch) ? Character.charCount(Character.codePointAt(input, index)) : 1;
+        }
+        for (int t = action - 1; t < translators.length; t++) {
+            final int consumed = translators[t].translateChars(input, index, writer);
+            if (consumed != 0) {
+                return consumed;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.text.TextStringBuilder;
+
+/**
+ * Translates text pushed to it in chunks, for example, to unescape HTML arriving in network packets, carrying the text that may start a translation over to
+ * the next chunk.
+ * <p>
+ * The text appended is translated up to the last index followed by a lookahead window of text, see {@link CharSequenceTranslator#getLookahead()}. The window,
+ * which may hold the start of an entity split across chunks such as {@code "&am"}, is kept until more text arrives or the input is finished. The translation
+ * is the same as the one of the whole text, and the memory used does not depend on its size. The unescapers of numeric entities have an unknown lookahead,
+ * these entities having no maximum length: give them one bounding the entities of the text with {@link #IncrementalTranslator(Appendable,
+ * CharSequenceTranslator, int)}.
+ * </p>
+ * <p>
+ * {@link #append(char[], int, int) append} buffers text and only translates when the buffer is full, {@link #flush()} translates up to the window, and
+ * {@link #push(char[], int, int) push} does both. {@link #finish()} translates the window at the end of the input, after which the instance can translate a
+ * new input.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @see org.apache.commons.text.io.TranslatingWriter
+ * @since 1.15.1
+ */
+public final class IncrementalTranslator {
+
+    /** The number of chars to buffer before translating. */
+    private static final int CHUNK_SIZE = 8192;
+
+    /** Text appended but not translated yet. */
+    private final TextStringBuilder buffer = new TextStringBuilder();
+
+    /** The buffer length at which the buffer is translated. */
+    private final int capacity;
+
+    /** The Writer to write the translation to. */
+    private final Writer output;
+
+    /** The underlying translator. */
+    private final CharSequenceTranslator translator;
+
+    /** The number of chars kept untranslated at the end of the buffer until more text is appended. */
+    private final int window;
+
+    /**
+     * Constructs a new instance using the lookahead of the translator.
+     *
+     * @param output     The Appendable to write the translation to.
+     * @param translator How to translate the text.
+     * @throws NullPointerException     if {@code output} is {@code null}.
+     * @throws NullPointerException     if {@code translator} is {@code null}.
+     * @throws IllegalArgumentException if the lookahead of the translator is unknown.
+     */
+    public IncrementalTranslator(final Appendable output, final CharSequenceTranslator translator) {
+        this(output, translator, Objects.requireNonNull(translator, "translator").getLookahead());
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param output     The Appendable to write the translation to.
+     * @param translator How to translate the text.
+     * @param lookahead  The maximum number of chars the translator examines from a translation index on.
+     * @throws NullPointerException     if {@code output} is {@code null}.
+     * @throws NullPointerException     if {@code translator} is {@code null}.
+     * @throws IllegalArgumentException if {@code lookahead} is negative.
+     */
+    public IncrementalTranslator(final Appendable output, final CharSequenceTranslator translator, final int lookahead) {
+        Objects.requireNonNull(output, "output");
+        this.translator = Objects.requireNonNull(translator, "translator");
+        Validate.isTrue(lookahead >= 0, "The lookahead of %s must not be negative or unknown: %d", translator, lookahead);
+        this.output = output instanceof Writer ? (Writer) output : new AppendableWriter(output);
+        // a surrogate pair copied as is spans 2 chars
+        this.window = Math.max(lookahead, 2);
+        this.capacity = CHUNK_SIZE + window;
+    }
+
+    /**
+     * Appends a char, translating the buffered text when the buffer is full.
+     *
+     * @param ch the char to append.
+     * @return {@code this} instance.
+     * @throws IOException Thrown if and only if the output produces an IOException.
+     */
+    public IncrementalTranslator append(final char ch) throws IOException {
+        buffer.append(ch);
+        translateIfFull();
+        return this;
+    }
+
+    /**
+     * Appends a portion of an array of chars, translating the buffered text each time the buffer is full.
+     *
+     * @param chars  the chars to append.
+     * @param offset the index of the first char to append.
+     * @param length the number of chars to append.
+     * @return {@code this} instance.
+     * @throws IOException Thrown if and only if the output produces an IOException.
+     */
+    public IncrementalTranslator append(final char[] chars, final int offset, final int length) throws IOException {
+        int index = offset;
+        final int end = offset + length;
+        while (index < end) {
+            final int count = Math.min(end - index, capacity - buffer.length());
+            buffer.append(chars, index, count);
+            index += count;
+            translateIfFull();
+        }
+        return this;
+    }
+
+    /**
+     * Appends a portion of a CharSequence, translating the buffered text each time the buffer is full.
+     *
+     * @param chars the chars to append.
+     * @param start the index of the first char to append.
+     * @param end   the index after the last char to append.
+     * @return {@code this} instance.
+     * @throws IOException Thrown if and only if the output produces an IOException.
+     */
+    public IncrementalTranslator append(final CharSequence chars, final int start, final int end) throws IOException {
+        int index = start;
+        while (index < end) {
+            final int count = Math.min(end - index, capacity - buffer.length());
+            buffer.append(chars, index, index + count);
+            index += count;
+            translateIfFull();
+        }
+        return this;
+    }
+
+    /**
+     * Translates all the buffered text, ending the input. The instance can then translate a new input.
+     *
+     * @throws IOException Thrown if and only if the output produces an IOException.
+     */
+    public void finish() throws IOException {
+        translate(true);
+    }
+
+    /**
+     * Translates the buffered text up to the lookahead window.
+     *
+     * @throws IOException Thrown if and only if the output produces an IOException.
+     */
+    public void flush() throws IOException {
+        translate(false);
+    }
+
+    /**
+     * Gets the number of chars appended but not translated yet.
+     *
+     * @return the number of chars appended but not translated yet.
+     */
+    public int getPendingLength() {
+        return buffer.length();
+    }
+
+    /**
+     * Appends a portion of an array of chars and translates the buffered text up to the lookahead window.
+     *
+     * @param chars  the chars to append.
+     * @param offset the index of the first char to append.
+     * @param length the number of chars to append.
+     * @return {@code this} instance.
+     * @throws IOException Thrown if and only if the output produces an IOException.
+     */
+    public IncrementalTranslator push(final char[] chars, final int offset, final int length) throws IOException {
+        append(chars, offset, length);
+        flush();
+        return this;
+    }
+
+    /**
+     * Appends a CharSequence and translates the buffered text up to the lookahead window.
+     *
+     * @param chars the chars to append.
+     * @return {@code this} instance.
+     * @throws IOException Thrown if and only if the output produces an IOException.
+     */
+    public IncrementalTranslator push(final CharSequence chars) throws IOException {
+        append(chars, 0, chars.length());
+        flush();
+        return this;
+    }
+
+    /**
+     * Translates the buffered text to the output.
+     *
+     * @param all whether to translate the whole buffer or only up to the lookahead window.
+     * @throws IOException Thrown if and only if the output produces an IOException.
+     */
+    private void translate(final boolean all) throws IOException {
+        final int end = all ? buffer.length() : buffer.length() - window + 1;
+        if (end > 0) {
+            buffer.delete(0, translator.translateRegion(buffer, 0, end, output));
+        }
+    }
+
+    /**
+     * Translates the buffer if it is full.
+     *
+     * @throws IOException Thrown if and only if the output produces an IOException.
+     */
+    private void translateIfFull() throws IOException {
+        if (buffer.length() >= capacity) {
+            translate(false);
+        }
+    }
+}
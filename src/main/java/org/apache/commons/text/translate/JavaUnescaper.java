@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.apache.commons.lang3.CharUtils;
+
+/**
+ * Translates the escapes of Java, EcmaScript and JSON string literals back to the chars they stand for.
+ * <p>
+ * The output is the same as the one of the chain of an {@link OctalUnescaper}, a {@link UnicodeUnescaper}, a {@link LookupTranslator} of
+ * {@link EntityArrays#JAVA_CTRL_CHARS_UNESCAPE} and a {@link LookupTranslator} of the escaped backslash and quotes, where a backslash followed by any other
+ * char is dropped. Instead of each translator testing for the backslash in turn, this one branches once on the char following it.
+ * </p>
+ *
+ * @since 1.15.1
+ */
+public final class JavaUnescaper extends CharSequenceTranslator {
+
+    /** Scans for the backslash. */
+    private static final AsciiScanner SCANNER = new AsciiScanner('\\');
+
+    /**
+     * Parses 4 chars as hex digits like {@link UnicodeUnescaper}, which lets {@link Integer#parseInt(String, int)} accept a sign.
+     *
+     * @param input the text holding the digits.
+     * @param index the index of the first digit.
+     * @return the value of the digits.
+     */
+    private static int parseHex(final CharSequence input, final int index) {
+        final CharSequence unicode = input.subSequence(index, index + 4);
+        try {
+            return Integer.parseInt(unicode.toString(), 16);
+        } catch (final NumberFormatException nfe) {
+            throw new IllegalArgumentException("Unable to parse unicode value: " + unicode, nfe);
+        }
+    }
+
+    /**
+     * Constructs a new instance.
+     */
+    public JavaUnescaper() {
+        // empty
+    }
+
+    /**
+     * Gets the lookahead of this unescaper, unknown like the one of {@link UnicodeUnescaper}.
+     *
+     * @return -1.
+     */
+    @Override
+    public int getLookahead() {
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int indexOfTranslatable(final CharSequence input, final int index, final int end) {
+        return Math.min(SCANNER.indexIn(input, index, end), end);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return ch == '\\';
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+        if (input.charAt(index) != '\\') {
+            return 0;
+        }
+        if (index + 1 == input.length()) {
+            // a trailing backslash is dropped
+            return 1;
+        }
+        final char next = input.charAt(index + 1);
+        switch (next) {
+        case 'b':
+            writer.write('\b');
+            return 2;
+        case 'f':
+            writer.write('\f');
+            return 2;
+        case 'n':
+            writer.write('\n');
+            return 2;
+        case 'r':
+            writer.write('\r');
+            return 2;
+        case 't':
+            writer.write('\t');
+            return 2;
+        case '\\':
+        case '"':
+        case '\'':
+            writer.write(next);
+            return 2;
+        case 'u':
+            return translateUnicode(input, index, writer);
+        default:
+            if (CharUtils.isOctal(next)) {
+                return translateOctal(input, index, writer);
+            }
+            // any other escaped char stands for itself, only the backslash is dropped
+            return 1;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int translateChars(final CharSequence input, final int index, final Writer writer) throws IOException {
+        // the chars of an escape are ASCII, one per code point
+        return translate(input, index, writer);
+    }
+
+    /**
+     * Translates an octal escape of 1 to 3 digits, up to \377.
+     *
+     * @param input  the text holding the escape.
+     * @param index  the index of the backslash, followed by an octal digit.
+     * @param writer the Writer to write the char to.
+     * @return the number of chars of the escape.
+     * @throws IOException Thrown if and only if the Writer produces an IOException.
+     */
+    private int translateOctal(final CharSequence input, final int index, final Writer writer) throws IOException {
+        final int len = input.length();
+        final char first = input.charAt(index + 1);
+        int value = first - '0';
+        int end = index + 2;
+        if (end < len && CharUtils.isOctal(input.charAt(end))) {
+            value = value * 8 + input.charAt(end) - '0';
+            end++;
+            if (first <= '3' && end < len && CharUtils.isOctal(input.charAt(end))) {
+                value = value * 8 + input.charAt(end) - '0';
+                end++;
+            }
+        }
+        writer.write(value);
+        return end - index;
+    }
+
+    /**
+     * Translates a Unicode escape of 4 hex digits, preceded by one or more 'u' and an optional '+'.
+     *
+     * @param input  the text holding the escape.
+     * @param index  the index of the backslash, followed by a 'u'.
+     * @param writer the Writer to write the char to.
+     * @return the number of chars of the escape.
+     * @throws IOException Thrown if and only if the Writer produces an IOException.
+     * @throws IllegalArgumentException if the escape does not end with 4 hex digits.
+     */
+    private int translateUnicode(final CharSequence input, final int index, final Writer writer) throws IOException {
+        final int len = input.length();
+        int digits = index + 2;
+        while (digits < len && input.charAt(digits) == 'u') {
+            digits++;
+        }
+        if (digits < len && input.charAt(digits) == '+') {
+            digits++;
+        }
+        if (digits + 4 > len) {
+            throw new IllegalArgumentException("Less than 4 hex digits in unicode value: '" + input.subSequence(index, len) + "' due to end of CharSequence");
+        }
+        int value = 0;
+        for (int i = digits; i < digits + 4; i++) {
+            final int digit = Character.digit(input.charAt(i), 16);
+            if (digit < 0) {
+                value = parseHex(input, digits);
+                break;
+            }
+            value = value << 4 | digit;
+        }
+        writer.write((char) value);
+        return digits + 4 - index;
+    }
+}
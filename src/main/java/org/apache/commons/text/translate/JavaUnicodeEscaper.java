@@ -17,6 +17,9 @@
 
 package org.apache.commons.text.translate;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Translates code points to their Unicode escaped value suitable for Java source.
  *
@@ -89,4 +92,15 @@ public class JavaUnicodeEscaper extends UnicodeEscaper {
         final char[] surrogatePair = Character.toChars(codePoint);
         return "\\u" + hex(surrogatePair[0]) + "\\u" + hex(surrogatePair[1]);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void writeUtf16Escape(final int codePoint, final Writer writer) throws IOException {
+        writer.write("\\u");
+        writeHex(Character.highSurrogate(codePoint), 4, writer);
+        writer.write("\\u");
+        writeHex(Character.lowSurrogate(codePoint), 4, writer);
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.Writer;
+
+/**
+ * A Writer that discards what is written and counts the chars.
+ */
+final class LengthWriter extends Writer {
+
+    /** The number of chars written. */
+    private long length;
+
+    /**
+     * Constructs a new instance.
+     */
+    LengthWriter() {
+        // empty
+    }
+
+    @Override
+    public Writer append(final char c) {
+        length++;
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) {
+        length += csq != null ? csq.length() : 4;
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq, final int start, final int end) {
+        length += end - start;
+        return this;
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    @Override
+    public void flush() {
+        // nothing to flush
+    }
+
+    /**
+     * Gets the number of chars written.
+     *
+     * @return the number of chars written.
+     */
+    long getLength() {
+        return length;
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) {
+        length += len;
+    }
+
+    @Override
+    public void write(final int c) {
+        length++;
+    }
+
+    @Override
+    public void write(final String str) {
+        length += str.length();
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) {
+        length += len;
+    }
+}
@@ -19,30 +19,83 @@ package org.apache.commons.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
+import org.apache.commons.lang3.ArrayUtils;
+
 /**
  * Translates a value using a lookup table.
+ * <p>
+ * The keys of the lookup table are compiled into a trie when this translator is constructed, so that finding the longest key matching the input at a given
+ * index walks the input once and does not allocate.
+ * </p>
  *
  * @since 1.0
  */
 public class LookupTranslator extends CharSequenceTranslator {
 
-    /** The mapping to be used in translation. */
-    private final Map<String, String> lookupMap;
+    /**
+     * A node of the trie of lookup keys.
+     */
+    private static final class Node {
+
+        /** Empty array of children. */
+        private static final Node[] EMPTY = {};
+
+        /** The sorted characters leading to the children of this node. */
+        private char[] chars = ArrayUtils.EMPTY_CHAR_ARRAY;
+
+        /** The children of this node, parallel to {@link #chars}. */
+        private Node[] children = EMPTY;
+
+        /** The translation of the key ending at this node, or null if no key ends here. */
+        private String value;
+
+        /**
+         * Gets the child for the given character.
+         *
+         * @param ch the character to follow.
+         * @return the child node or null.
+         */
+        Node child(final char ch) {
+            final int i = Arrays.binarySearch(chars, ch);
+            return i >= 0 ? children[i] : null;
+        }
+
+        /**
+         * Gets the child for the given character, creating it if needed.
+         *
+         * @param ch the character to follow.
+         * @return the child node.
+         */
+        Node childOrNew(final char ch) {
+            int i = Arrays.binarySearch(chars, ch);
+            if (i < 0) {
+                i = -i - 1;
+                final Node node = new Node();
+                chars = ArrayUtils.insert(i, chars, ch);
+                children = ArrayUtils.insert(i, children, node);
+                return node;
+            }
+            return children[i];
+        }
+    }
+
+    /** The root of the trie built from the keys of the lookup table. */
+    private final Node root = new Node();
 
     /** The first character of each key in the lookupMap. */
     private final BitSet prefixSet;
 
-    /** The length of the shortest key in the lookupMap. */
-    private final int shortest;
-
     /** The length of the longest key in the lookupMap. */
     private final int longest;
 
+    /** Whether every key in the lookupMap is a single code point. */
+    private final boolean codePointKeys;
+
     /**
      * Constructs the lookup table to be used in translation.
      * <p>
@@ -54,23 +107,65 @@ public class LookupTranslator extends CharSequenceTranslator {
      */
     public LookupTranslator(final Map<CharSequence, CharSequence> lookupMap) {
         Objects.requireNonNull(lookupMap, "lookupMap");
-        this.lookupMap = new HashMap<>();
         this.prefixSet = new BitSet();
-        int currentShortest = Integer.MAX_VALUE;
         int currentLongest = 0;
+        boolean allCodePoints = true;
         for (final Map.Entry<CharSequence, CharSequence> pair : lookupMap.entrySet()) {
-            this.lookupMap.put(pair.getKey().toString(), pair.getValue().toString());
-            this.prefixSet.set(pair.getKey().charAt(0));
-            final int sz = pair.getKey().length();
-            if (sz < currentShortest) {
-                currentShortest = sz;
+            final String key = pair.getKey().toString();
+            this.prefixSet.set(key.charAt(0));
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrNew(key.charAt(i));
             }
-            if (sz > currentLongest) {
-                currentLongest = sz;
+            node.value = pair.getValue().toString();
+            if (key.length() > currentLongest) {
+                currentLongest = key.length();
             }
+            allCodePoints &= key.length() == Character.charCount(key.codePointAt(0));
         }
-        this.shortest = currentShortest;
         this.longest = currentLongest;
+        this.codePointKeys = allCodePoints;
+    }
+
+    /**
+     * Gets the translation of the given char when it is a key and no longer key starts with it.
+     *
+     * @param ch the char to look up.
+     * @return the translation or null.
+     */
+    String getSingleCharTranslation(final char ch) {
+        final Node node = root.child(ch);
+        return node != null && node.chars.length == 0 ? node.value : null;
+    }
+
+    /**
+     * Gets the length of the longest key.
+     *
+     * @return the length of the longest key.
+     * @since 1.15.1
+     */
+    @Override
+    public int getLookahead() {
+        return longest;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean isCodePointTranslator() {
+        if (getClass() != LookupTranslator.class) {
+            return super.isCodePointTranslator();
+        }
+        return codePointKeys;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return prefixSet.get(ch);
     }
 
     /**
@@ -80,18 +175,24 @@ public class LookupTranslator extends CharSequenceTranslator {
     public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
         // check if translation exists for the input at position index
         if (prefixSet.get(input.charAt(index))) {
-            int max = longest;
-            if (index + longest > input.length()) {
-                max = input.length() - index;
-            }
-            // implement greedy algorithm by trying maximum match first
-            for (int i = max; i >= shortest; i--) {
-                final CharSequence subSeq = input.subSequence(index, index + i);
-                final String result = lookupMap.get(subSeq.toString());
-                if (result != null) {
-                    writer.write(result);
-                    return Character.codePointCount(subSeq, 0, subSeq.length());
+            final int max = Math.min(input.length(), index + longest);
+            String result = null;
+            int end = index;
+            // implement greedy algorithm by remembering the longest match found while walking the trie
+            Node node = root;
+            for (int i = index; i < max; i++) {
+                node = node.child(input.charAt(i));
+                if (node == null) {
+                    break;
                 }
+                if (node.value != null) {
+                    result = node.value;
+                    end = i + 1;
+                }
+            }
+            if (result != null) {
+                writer.write(result);
+                return Character.codePointCount(input, index, end);
             }
         }
         return 0;
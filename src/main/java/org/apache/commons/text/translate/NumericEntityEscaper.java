@@ -19,8 +19,6 @@ package org.apache.commons.text.translate;
 import java.io.IOException;
 import java.io.Writer;
 
-import org.apache.commons.lang3.Range;
-
 /**
  * Translates code points to their XML numeric entity escaped value.
  *
@@ -70,12 +68,15 @@ public class NumericEntityEscaper extends CodePointTranslator {
         return new NumericEntityEscaper(codePointLow, codePointHigh, false);
     }
 
+    /** The lowest code point boundary. */
+    private final int below;
+
+    /** The highest code point boundary. */
+    private final int above;
+
     /** Whether to escape between the boundaries or outside them. */
     private final boolean between;
 
-    /** Range from lowest code point to highest code point. */
-    private final Range<Integer> range;
-
     /**
      * Constructs a {@code NumericEntityEscaper} for all characters.
      */
@@ -94,20 +95,39 @@ public class NumericEntityEscaper extends CodePointTranslator {
      * @param between whether to escape between the boundaries or outside them.
      */
     private NumericEntityEscaper(final int below, final int above, final boolean between) {
-        this.range = Range.of(below, above);
+        this.below = Math.min(below, above);
+        this.above = Math.max(below, above);
         this.between = between;
     }
 
+    /**
+     * Tests whether the given code point is escaped.
+     *
+     * @param codePoint a Unicode code point.
+     * @return whether the given code point is escaped.
+     */
+    private boolean isEscaped(final int codePoint) {
+        return between == (codePoint >= below && codePoint <= above);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return Character.isSurrogate(ch) || isEscaped(ch);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean translate(final int codePoint, final Writer writer) throws IOException {
-        if (this.between != this.range.contains(codePoint)) {
+        if (!isEscaped(codePoint)) {
             return false;
         }
         writer.write("&#");
-        writer.write(Integer.toString(codePoint, 10));
+        writeDecimal(codePoint, writer);
         writer.write(';');
         return true;
     }
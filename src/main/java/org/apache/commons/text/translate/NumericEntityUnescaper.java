@@ -92,6 +92,36 @@ public class NumericEntityUnescaper extends CharSequenceTranslator {
         this.options = ArrayUtils.isEmpty(options) ? DEFAULT_OPTIONS : EnumSet.copyOf(Arrays.asList(options));
     }
 
+    /**
+     * Gets the lookahead of this unescaper, unknown since the number of digits of an entity is not limited.
+     * <p>
+     * To translate a stream, pass a lookahead bounding the length of the entities, for example to
+     * {@link org.apache.commons.text.io.TranslatingReader#TranslatingReader(java.io.Reader, CharSequenceTranslator, int)}: a longer entity, only possible
+     * with leading zeros, may then not be unescaped.
+     * </p>
+     *
+     * @return -1.
+     * @since 1.15.1
+     */
+    @Override
+    public int getLookahead() {
+        return -1;
+    }
+
+    /**
+     * Gets the value of a hexadecimal digit.
+     *
+     * @param ch    a hexadecimal digit.
+     * @param isHex whether the digit is in base 16 rather than 10.
+     * @return the value of the digit, or -1 if it is not a digit of the base.
+     */
+    private static int digit(final char ch, final boolean isHex) {
+        if (ch <= '9') {
+            return ch - '0';
+        }
+        return isHex ? (ch | 0x20) - 'a' + 10 : -1;
+    }
+
     /**
      * Tests whether the passed in option is currently set.
      *
@@ -102,6 +132,14 @@ public class NumericEntityUnescaper extends CharSequenceTranslator {
         return options.contains(option);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return ch == '&';
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -135,23 +173,25 @@ public class NumericEntityUnescaper extends CharSequenceTranslator {
                     throw new IllegalArgumentException("Semi-colon required at end of numeric entity");
                 }
             }
-            final int entityValue;
-            try {
-                if (isHex) {
-                    entityValue = Integer.parseInt(input.subSequence(start, end).toString(), 16);
-                } else {
-                    entityValue = Integer.parseInt(input.subSequence(start, end).toString(), 10);
-                }
-            } catch (final NumberFormatException nfe) {
+            if (start == end) {
+                // no digits
                 return 0;
             }
-            if (!Character.isValidCodePoint(entityValue)) {
-                return 0;
+            // accumulate the digits in place, an invalid digit or a value past the last code point leaves the entity as is
+            int entityValue = 0;
+            for (int i = start; i < end; i++) {
+                final int digit = digit(input.charAt(i), isHex);
+                if (digit < 0) {
+                    return 0;
+                }
+                entityValue = entityValue * (isHex ? 16 : 10) + digit;
+                if (entityValue > Character.MAX_CODE_POINT) {
+                    return 0;
+                }
             }
             if (entityValue > 0xFFFF) {
-                final char[] chars = Character.toChars(entityValue);
-                writer.write(chars[0]);
-                writer.write(chars[1]);
+                writer.write(Character.highSurrogate(entityValue));
+                writer.write(Character.lowSurrogate(entityValue));
             } else {
                 writer.write(entityValue);
             }
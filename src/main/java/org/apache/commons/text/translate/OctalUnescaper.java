@@ -40,6 +40,17 @@ public class OctalUnescaper extends CharSequenceTranslator {
         // empty
     }
 
+    /**
+     * Gets the length of the longest escape, a backslash followed by 3 octal digits.
+     *
+     * @return 4.
+     * @since 1.15.1
+     */
+    @Override
+    public int getLookahead() {
+        return 4;
+    }
+
     /**
      * Tests if the given char is the character representation of one of the digit from 0 to 3.
      *
@@ -50,27 +61,37 @@ public class OctalUnescaper extends CharSequenceTranslator {
         return ch >= '0' && ch <= '3';
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return ch == '\\';
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
         final int remaining = input.length() - index - 1; // how many characters left, ignoring the first \
-        final StringBuilder builder = new StringBuilder();
         if (input.charAt(index) == '\\' && remaining > 0 && CharUtils.isOctal(input.charAt(index + 1))) {
             final int next = index + 1;
             final int next2 = index + 2;
             final int next3 = index + 3;
-            // we know this is good as we checked it in the if block above
-            builder.append(input.charAt(next));
+            // we know this is good as we checked it in the if block above, accumulate the digits in place
+            int value = input.charAt(next) - '0';
+            int length = 1;
             if (remaining > 1 && CharUtils.isOctal(input.charAt(next2))) {
-                builder.append(input.charAt(next2));
+                value = value * 8 + input.charAt(next2) - '0';
+                length++;
                 if (remaining > 2 && isZeroToThree(input.charAt(next)) && CharUtils.isOctal(input.charAt(next3))) {
-                    builder.append(input.charAt(next3));
+                    value = value * 8 + input.charAt(next3) - '0';
+                    length++;
                 }
             }
-            writer.write(Integer.parseInt(builder.toString(), 8));
-            return 1 + builder.length();
+            writer.write(value);
+            return 1 + length;
         }
         return 0;
     }
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Translates single code points using a table indexed by code point.
+ * <p>
+ * The table is split into pages of 256 code points, pages without a translation are not allocated, so that finding the translation of a code point takes
+ * two array lookups whatever the size of the table. Use it instead of a {@link LookupTranslator} when every key is a single code point, for example to escape
+ * HTML with the maps of {@link EntityArrays}.
+ * </p>
+ *
+ * @see EntityArrays#toCodePointTable(Map...)
+ * @since 1.15.1
+ */
+public final class TableTranslator extends CharSequenceTranslator {
+
+    /** Number of bits of a code point used to index into a page. */
+    private static final int PAGE_SHIFT = 8;
+
+    /** Mask for the index into a page. */
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+
+    /** The largest capacity allocated for an output. */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /** The pages of translations, null when a page has none. */
+    private final String[][] pages;
+
+    /** Whether a supplementary code point has a translation. */
+    private final boolean supplementary;
+
+    /** Scans for the ASCII chars that have a translation. */
+    private final AsciiScanner asciiScanner;
+
+    /**
+     * Constructs a new instance from maps with single code point keys.
+     *
+     * @param maps Maps&lt;CharSequence, CharSequence&gt; with single code point keys; when maps share a key, the first one wins.
+     * @throws IllegalArgumentException if a key is not a single code point.
+     */
+    @SafeVarargs
+    public TableTranslator(final Map<CharSequence, CharSequence>... maps) {
+        this(EntityArrays.toCodePointTable(maps));
+    }
+
+    /**
+     * Constructs a new instance from a table indexed by code point.
+     *
+     * @param table the translation of each code point, or null for code points passed through. The table is copied.
+     * @throws IllegalArgumentException if the table is longer than the number of code points.
+     */
+    public TableTranslator(final String[] table) {
+        if (table.length > Character.MAX_CODE_POINT + 1) {
+            throw new IllegalArgumentException("Table longer than the number of code points: " + table.length);
+        }
+        this.pages = new String[(table.length + PAGE_MASK) >> PAGE_SHIFT][];
+        final StringBuilder ascii = new StringBuilder();
+        boolean hasSupplementary = false;
+        for (int codePoint = 0; codePoint < table.length; codePoint++) {
+            if (table[codePoint] != null) {
+                String[] page = pages[codePoint >> PAGE_SHIFT];
+                if (page == null) {
+                    page = new String[PAGE_MASK + 1];
+                    pages[codePoint >> PAGE_SHIFT] = page;
+                }
+                page[codePoint & PAGE_MASK] = table[codePoint];
+                if (codePoint < 0x80) {
+                    ascii.append((char) codePoint);
+                }
+                hasSupplementary |= Character.isSupplementaryCodePoint(codePoint);
+            }
+        }
+        this.supplementary = hasSupplementary;
+        this.asciiScanner = new AsciiScanner(ascii.toString().toCharArray());
+    }
+
+    /**
+     * Gets the translation of the given code point.
+     *
+     * @param codePoint the code point to look up.
+     * @return the translation or null.
+     */
+    private String get(final int codePoint) {
+        final int p = codePoint >> PAGE_SHIFT;
+        if (p >= pages.length) {
+            return null;
+        }
+        final String[] page = pages[p];
+        return page != null ? page[codePoint & PAGE_MASK] : null;
+    }
+
+    /**
+     * Gets the lookahead: 2 if a supplementary code point has a translation, 1 otherwise.
+     *
+     * @return the lookahead.
+     */
+    @Override
+    public int getLookahead() {
+        return supplementary ? 2 : 1;
+    }
+
+    /**
+     * Gets the translation of the given char when it is a key and not a surrogate, which {@link #translate(CharSequence, int, Writer)} may pair.
+     *
+     * @param ch the char to look up.
+     * @return the translation or null.
+     */
+    String getSingleCharTranslation(final char ch) {
+        return Character.isSurrogate(ch) ? null : get(ch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int indexOfTranslatable(final CharSequence input, final int index, final int end) {
+        final int len = input.length();
+        int pos = index;
+        // the scanner skips runs of ASCII chars passed through, a few chars at a time
+        while ((pos = asciiScanner.indexOf(input, pos, end)) < end) {
+            final char c1 = input.charAt(pos);
+            if (c1 < 0x80 || isTranslatable(c1)) {
+                return pos;
+            }
+            pos++;
+            if (Character.isHighSurrogate(c1) && pos < len && Character.isLowSurrogate(input.charAt(pos))) {
+                pos++;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean isCodePointTranslator() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return get(ch) != null || supplementary && Character.isHighSurrogate(ch);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The output is sized exactly, see {@link #translatedLength(CharSequence)}.
+     * </p>
+     */
+    @Override
+    int outputCapacity(final CharSequence input, final int first) {
+        return (int) Math.min(first + translatedLength(input, first), MAX_CAPACITY);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+        final String translation = get(Character.codePointAt(input, index));
+        if (translation == null) {
+            return 0;
+        }
+        writer.write(translation);
+        return 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int translateChars(final CharSequence input, final int index, final Writer writer) throws IOException {
+        final int codePoint = Character.codePointAt(input, index);
+        final String translation = get(codePoint);
+        if (translation == null) {
+            return 0;
+        }
+        writer.write(translation);
+        return Character.charCount(codePoint);
+    }
+
+    /**
+     * Gets the length of the translation of an input by adding up the lengths of the translations of its code points, without writing them.
+     *
+     * @param input CharSequence to be translated, may be null.
+     * @return the length of the translation, 0 for null.
+     */
+    @Override
+    public long translatedLength(final CharSequence input) {
+        return input == null ? 0 : translatedLength(input, 0);
+    }
+
+    /**
+     * Adds up the lengths of the translations of an input from the given index on.
+     *
+     * @param input CharSequence to be translated.
+     * @param index the index to start at.
+     * @return the length of the translation from the index on.
+     */
+    private long translatedLength(final CharSequence input, final int index) {
+        final int len = input.length();
+        // start from passing every char through, then account for each translated code point
+        long length = len - index;
+        int pos = index;
+        while ((pos = indexOfTranslatable(input, pos, len)) < len) {
+            final int codePoint = Character.codePointAt(input, pos);
+            final String translation = get(codePoint);
+            final int count = Character.charCount(codePoint);
+            if (translation != null) {
+                length += translation.length() - count;
+            }
+            pos += count;
+        }
+        return length;
+    }
+}
@@ -77,6 +77,9 @@ public class UnicodeEscaper extends CodePointTranslator {
     /** Whether to escape between the boundaries or outside them. */
     private final boolean between;
 
+    /** Whether {@link #toUtf16Escape(int)} is this class's or {@link JavaUnicodeEscaper}'s, so that escapes can be written without building a String. */
+    private final boolean direct = getClass() == UnicodeEscaper.class || getClass() == JavaUnicodeEscaper.class;
+
     /**
      * Constructs a {@code UnicodeEscaper} for all characters.
      */
@@ -100,6 +103,24 @@ public class UnicodeEscaper extends CodePointTranslator {
         this.between = between;
     }
 
+    /**
+     * Tests whether the given code point is escaped.
+     *
+     * @param codePoint a Unicode code point.
+     * @return whether the given code point is escaped.
+     */
+    private boolean isEscaped(final int codePoint) {
+        return between ? codePoint >= below && codePoint <= above : codePoint < below || codePoint > above;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return Character.isSurrogate(ch) || isEscaped(ch);
+    }
+
     /**
      * Converts the given code point to a hexadecimal string of the form {@code "\\uXXXX"}.
      *
@@ -111,27 +132,34 @@ public class UnicodeEscaper extends CodePointTranslator {
         return "\\u" + hex(codePoint);
     }
 
+    /**
+     * Writes the escape of the given supplementary code point, the same as {@link #toUtf16Escape(int)}.
+     *
+     * @param codePoint a supplementary code point.
+     * @param writer    the Writer to write to.
+     * @throws IOException Thrown if and only if the Writer produces an IOException.
+     */
+    void writeUtf16Escape(final int codePoint, final Writer writer) throws IOException {
+        writer.write("\\u");
+        writeHex(codePoint, (Integer.SIZE - Integer.numberOfLeadingZeros(codePoint) + 3) / 4, writer);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean translate(final int codePoint, final Writer writer) throws IOException {
-        if (between) {
-            if (codePoint < below || codePoint > above) {
-                return false;
-            }
-        } else if (codePoint >= below && codePoint <= above) {
+        if (!isEscaped(codePoint)) {
             return false;
         }
 
-        if (codePoint > 0xffff) {
-            writer.write(toUtf16Escape(codePoint));
+        if (codePoint <= 0xffff) {
+            writer.write("\\u");
+            writeHex(codePoint, 4, writer);
+        } else if (direct) {
+            writeUtf16Escape(codePoint, writer);
         } else {
-          writer.write("\\u");
-          writer.write(HEX_DIGITS[codePoint >> 12 & 15]);
-          writer.write(HEX_DIGITS[codePoint >> 8 & 15]);
-          writer.write(HEX_DIGITS[codePoint >> 4 & 15]);
-          writer.write(HEX_DIGITS[codePoint & 15]);
+            writer.write(toUtf16Escape(codePoint));
         }
         return true;
     }
@@ -35,6 +35,30 @@ public class UnicodeUnescaper extends CharSequenceTranslator {
         // empty
     }
 
+    /**
+     * Gets the lookahead of this unescaper, unknown since the number of 'u' chars of an escape is not limited.
+     * <p>
+     * To translate a stream, pass a lookahead bounding the length of the escapes, for example to
+     * {@link org.apache.commons.text.io.TranslatingReader#TranslatingReader(java.io.Reader, CharSequenceTranslator, int)}: a longer escape is then
+     * reported as having less than 4 hex digits.
+     * </p>
+     *
+     * @return -1.
+     * @since 1.15.1
+     */
+    @Override
+    public int getLookahead() {
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return ch == '\\';
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -33,6 +33,14 @@ public class UnicodeUnpairedSurrogateRemover extends CodePointTranslator {
         // empty
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isTranslatable(final char ch) {
+        return Character.isSurrogate(ch);
+    }
+
     /**
      * Implements translate to throw out unpaired surrogates.
      * {@inheritDoc}
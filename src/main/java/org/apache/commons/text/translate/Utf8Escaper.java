@@ -0,0 +1,410 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Escapes UTF-8 encoded text to UTF-8 bytes with a {@link CharSequenceTranslator} that translates each code point independently of the others, like the
+ * escapers of {@link org.apache.commons.text.StringEscapeUtils}.
+ * <p>
+ * The result is the same as decoding the input to a String, translating it and encoding the translation, but the input is not decoded: the bytes of the
+ * code points the translator leaves as they are are copied in bulk, and the UTF-8 encoded translations of the chars up to U+FFFF are computed once, 256 chars
+ * at a time the first time one of them is met. As when decoding a String, malformed input is read as U+FFFD, one per maximal malformed subsequence.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 1.15.1
+ */
+public final class Utf8Escaper {
+
+    /**
+     * Copies the bytes left as they are and writes the translations.
+     */
+    private interface Sink {
+
+        /**
+         * Copies a range of the input.
+         *
+         * @param input the input.
+         * @param from  the index of the first byte to copy.
+         * @param to    the index after the last byte to copy, the end of a code point.
+         * @return the index after the last byte copied, less than {@code to} when there is no room for the whole range.
+         * @throws IOException if an I/O error occurs.
+         */
+        int copy(ByteBuffer input, int from, int to) throws IOException;
+
+        /**
+         * Writes a translation.
+         *
+         * @param bytes the UTF-8 encoded translation.
+         * @return whether the translation was written, false when there is no room for it.
+         * @throws IOException if an I/O error occurs.
+         */
+        boolean write(byte[] bytes) throws IOException;
+    }
+
+    /**
+     * The UTF-8 encoded translations of 256 consecutive chars. Instances are published through a data race, the final field makes that safe.
+     */
+    private static final class Page {
+
+        /** The translation of each char of the page, or null for the chars left as they are. */
+        private final byte[][] translations;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param translations the translation of each char of the page.
+         */
+        Page(final byte[][] translations) {
+            this.translations = translations;
+        }
+    }
+
+    /** Number of bits of a char used to index into a page. */
+    private static final int PAGE_SHIFT = 8;
+
+    /** Mask for the index into a page. */
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+
+    /** The code point replacing malformed input. */
+    private static final int REPLACEMENT_CHARACTER = 0xFFFD;
+
+    /** The UTF-8 encoding of {@link #REPLACEMENT_CHARACTER}. */
+    private static final byte[] REPLACEMENT_BYTES = { (byte) 0xEF, (byte) 0xBF, (byte) 0xBD };
+
+    /** The size of the buffer used to copy a direct ByteBuffer to an OutputStream. */
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    /**
+     * Tests whether a byte is a UTF-8 continuation byte.
+     *
+     * @param b the byte.
+     * @return whether the byte is a continuation byte.
+     */
+    private static boolean isContinuation(final int b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    /** The translator. */
+    private final CharSequenceTranslator translator;
+
+    /** The pages computed so far, by the upper bits of the chars. */
+    private final Page[] pages = new Page[(Character.MAX_VALUE + 1) >> PAGE_SHIFT];
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param translator the translator, it must translate each code point independently of the others.
+     * @throws NullPointerException     if {@code translator} is {@code null}.
+     * @throws IllegalArgumentException if the translator may examine more than a code point: it is not a {@link CodePointTranslator}, nor a
+     *                                  {@link LookupTranslator} or a {@link TableTranslator} with single code point keys, nor an aggregate of those, and
+     *                                  its {@link CharSequenceTranslator#getLookahead() lookahead} is not 0 or 1.
+     */
+    public Utf8Escaper(final CharSequenceTranslator translator) {
+        this.translator = Objects.requireNonNull(translator, "translator");
+        Validate.isTrue(translator.isCodePointTranslator(), "The translator must translate code points independently: %s", translator);
+    }
+
+    /**
+     * Computes the page holding the given char.
+     *
+     * @param ch a char of the page.
+     * @return the page.
+     */
+    private Page computePage(final int ch) {
+        final int base = ch & ~PAGE_MASK;
+        final byte[][] translations = new byte[PAGE_MASK + 1][];
+        for (int i = 0; i <= PAGE_MASK; i++) {
+            final char c = (char) (base + i);
+            // surrogates are not code points, UTF-8 input never decodes to them
+            if (!Character.isSurrogate(c)) {
+                translations[i] = encodeTranslation(String.valueOf(c));
+            }
+        }
+        final Page page = new Page(translations);
+        pages[ch >> PAGE_SHIFT] = page;
+        return page;
+    }
+
+    /**
+     * Translates a code point and encodes the translation.
+     *
+     * @param codePoint the code point as a String.
+     * @return the UTF-8 encoded translation, or null if the code point is left as it is.
+     */
+    private byte[] encodeTranslation(final String codePoint) {
+        if (!translator.mayTranslate(codePoint.charAt(0))) {
+            return null;
+        }
+        final String translation = translator.translate(codePoint);
+        return translation.equals(codePoint) ? null : translation.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escapes a UTF-8 encoded byte array.
+     *
+     * @param input the UTF-8 encoded text to escape.
+     * @return the UTF-8 encoded escaped text.
+     */
+    public byte[] escape(final byte[] input) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(input.length + 16);
+        try {
+            escape(input, 0, input.length, output);
+        } catch (final IOException e) {
+            // this should never ever happen while writing to a ByteArrayOutputStream
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Escapes a range of a UTF-8 encoded byte array to an OutputStream.
+     *
+     * @param input  the UTF-8 encoded text to escape.
+     * @param offset the index of the first byte to escape.
+     * @param length the number of bytes to escape.
+     * @param output the stream to write the UTF-8 encoded escaped text to.
+     * @throws IOException if the OutputStream throws one.
+     */
+    public void escape(final byte[] input, final int offset, final int length, final OutputStream output) throws IOException {
+        escape(ByteBuffer.wrap(input, offset, length), output);
+    }
+
+    /**
+     * Escapes the remaining bytes of a UTF-8 encoded buffer to an OutputStream. The position of the buffer is advanced to its limit.
+     *
+     * @param input  the UTF-8 encoded text to escape.
+     * @param output the stream to write the UTF-8 encoded escaped text to.
+     * @throws IOException if the OutputStream throws one.
+     */
+    public void escape(final ByteBuffer input, final OutputStream output) throws IOException {
+        Objects.requireNonNull(output, "output");
+        final byte[] copyBuffer = input.hasArray() ? null : new byte[Math.min(input.remaining(), COPY_BUFFER_SIZE)];
+        final int end = escape(input, new Sink() {
+
+            @Override
+            public int copy(final ByteBuffer in, final int from, final int to) throws IOException {
+                if (copyBuffer == null) {
+                    output.write(in.array(), in.arrayOffset() + from, to - from);
+                } else {
+                    for (int i = from; i < to; i += copyBuffer.length) {
+                        final int len = Math.min(copyBuffer.length, to - i);
+                        for (int j = 0; j < len; j++) {
+                            copyBuffer[j] = in.get(i + j);
+                        }
+                        output.write(copyBuffer, 0, len);
+                    }
+                }
+                return to;
+            }
+
+            @Override
+            public boolean write(final byte[] bytes) throws IOException {
+                output.write(bytes);
+                return true;
+            }
+        });
+        input.position(end);
+    }
+
+    /**
+     * Escapes the remaining bytes of a UTF-8 encoded buffer into another buffer, for example, a direct buffer to write to a channel.
+     * <p>
+     * Escaping stops at the end of the input, or at the first code point whose bytes or translation do not fit in the output. The positions of both buffers are
+     * advanced past the bytes read and written, so that escaping can resume with an output that has been drained; the output must have room for the longest
+     * translation of a code point. The end of the input is the end of the text: a code point truncated by it is malformed.
+     * </p>
+     *
+     * @param input  the UTF-8 encoded text to escape.
+     * @param output the buffer to write the UTF-8 encoded escaped text to.
+     * @return whether the whole input was escaped, false if the output is full.
+     */
+    public boolean escape(final ByteBuffer input, final ByteBuffer output) {
+        Objects.requireNonNull(output, "output");
+        final int end;
+        try {
+            end = escape(input, new Sink() {
+
+                @Override
+                public int copy(final ByteBuffer in, final int from, final int to) {
+                    int stop = to;
+                    if (to - from > output.remaining()) {
+                        // only copy whole code points
+                        stop = from + output.remaining();
+                        while (stop > from && isContinuation(in.get(stop))) {
+                            stop--;
+                        }
+                    }
+                    if (in.hasArray()) {
+                        output.put(in.array(), in.arrayOffset() + from, stop - from);
+                    } else {
+                        final ByteBuffer range = in.duplicate();
+                        range.limit(stop);
+                        range.position(from);
+                        output.put(range);
+                    }
+                    return stop;
+                }
+
+                @Override
+                public boolean write(final byte[] bytes) {
+                    if (bytes.length > output.remaining()) {
+                        return false;
+                    }
+                    output.put(bytes);
+                    return true;
+                }
+            });
+        } catch (final IOException e) {
+            // this should never ever happen while writing to a ByteBuffer
+            throw new UncheckedIOException(e);
+        }
+        input.position(end);
+        return end == input.limit();
+    }
+
+    /**
+     * Escapes the remaining bytes of a buffer to a sink, without changing the position of the buffer.
+     *
+     * @param input the UTF-8 encoded text to escape.
+     * @param sink  where to write the escaped text.
+     * @return the index escaping stopped at, the limit of the buffer unless the sink is full.
+     * @throws IOException if the sink throws one.
+     */
+    private int escape(final ByteBuffer input, final Sink sink) throws IOException {
+        final int end = input.limit();
+        int pos = input.position();
+        int run = pos;
+        while (pos < end) {
+            final int b0 = input.get(pos);
+            if (b0 >= 0) {
+                // ASCII, the most frequent case
+                final byte[] translation = page(b0).translations[b0];
+                if (translation == null) {
+                    pos++;
+                    continue;
+                }
+                if (run < pos) {
+                    final int copied = sink.copy(input, run, pos);
+                    if (copied < pos) {
+                        return copied;
+                    }
+                }
+                if (!sink.write(translation)) {
+                    return pos;
+                }
+                pos++;
+                run = pos;
+                continue;
+            }
+            // decode the code point, or the length of the maximal malformed subsequence
+            int codePoint = -1;
+            int length = 1;
+            if (b0 >= (byte) 0xC2 && b0 <= (byte) 0xDF) {
+                if (pos + 1 < end && isContinuation(input.get(pos + 1))) {
+                    codePoint = (b0 & 0x1F) << 6 | input.get(pos + 1) & 0x3F;
+                    length = 2;
+                }
+            } else if ((b0 & 0xF0) == 0xE0) {
+                if (pos + 1 < end) {
+                    final int b1 = input.get(pos + 1);
+                    final boolean valid = b0 == (byte) 0xE0 ? b1 >= (byte) 0xA0 && b1 <= (byte) 0xBF
+                            : b0 == (byte) 0xED ? b1 >= (byte) 0x80 && b1 <= (byte) 0x9F : isContinuation(b1);
+                    if (valid) {
+                        length = 2;
+                        if (pos + 2 < end && isContinuation(input.get(pos + 2))) {
+                            codePoint = (b0 & 0x0F) << 12 | (b1 & 0x3F) << 6 | input.get(pos + 2) & 0x3F;
+                            length = 3;
+                        }
+                    }
+                }
+            } else if (b0 >= (byte) 0xF0 && b0 <= (byte) 0xF4) {
+                if (pos + 1 < end) {
+                    final int b1 = input.get(pos + 1);
+                    final boolean valid = b0 == (byte) 0xF0 ? b1 >= (byte) 0x90 && b1 <= (byte) 0xBF
+                            : b0 == (byte) 0xF4 ? b1 >= (byte) 0x80 && b1 <= (byte) 0x8F : isContinuation(b1);
+                    if (valid) {
+                        length = 2;
+                        if (pos + 2 < end && isContinuation(input.get(pos + 2))) {
+                            length = 3;
+                            if (pos + 3 < end && isContinuation(input.get(pos + 3))) {
+                                codePoint = (b0 & 0x07) << 18 | (b1 & 0x3F) << 12 | (input.get(pos + 2) & 0x3F) << 6 | input.get(pos + 3) & 0x3F;
+                                length = 4;
+                            }
+                        }
+                    }
+                }
+            }
+            final boolean malformed = codePoint < 0;
+            if (malformed) {
+                codePoint = REPLACEMENT_CHARACTER;
+            }
+            byte[] translation;
+            if (codePoint <= Character.MAX_VALUE) {
+                translation = page(codePoint).translations[codePoint & PAGE_MASK];
+            } else {
+                translation = encodeTranslation(new String(Character.toChars(codePoint)));
+            }
+            if (translation == null) {
+                if (!malformed) {
+                    pos += length;
+                    continue;
+                }
+                translation = REPLACEMENT_BYTES;
+            }
+            if (run < pos) {
+                final int copied = sink.copy(input, run, pos);
+                if (copied < pos) {
+                    return copied;
+                }
+            }
+            if (!sink.write(translation)) {
+                return pos;
+            }
+            pos += length;
+            run = pos;
+        }
+        if (run < pos) {
+            return sink.copy(input, run, pos);
+        }
+        return pos;
+    }
+
+    /**
+     * Gets the page holding the given char.
+     *
+     * @param ch a char of the page.
+     * @return the page.
+     */
+    private Page page(final int ch) {
+        final Page page = pages[ch >> PAGE_SHIFT];
+        return page != null ? page : computePage(ch);
+    }
+
+}
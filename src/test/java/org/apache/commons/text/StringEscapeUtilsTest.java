@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -411,6 +412,22 @@ class StringEscapeUtilsTest {
         assertEquals(bellsTest, valueTest);
     }
 
+    @Test
+    void testNothingToEscapeReturnsInput() {
+        final String input = "Nothing to see here, move along 123";
+        assertSame(input, StringEscapeUtils.escapeJava(input));
+        assertSame(input, StringEscapeUtils.escapeJson(input));
+        assertSame(input, StringEscapeUtils.escapeEcmaScript(input));
+        assertSame(input, StringEscapeUtils.escapeXml10(input));
+        assertSame(input, StringEscapeUtils.escapeXml11(input));
+        assertSame(input, StringEscapeUtils.escapeHtml3(input));
+        assertSame(input, StringEscapeUtils.escapeHtml4(input));
+        assertSame(input, StringEscapeUtils.unescapeJava(input));
+        assertSame(input, StringEscapeUtils.unescapeHtml4(input));
+        assertSame(input, StringEscapeUtils.unescapeXml(input));
+        assertEquals("Nothing to see here &amp; move along", StringEscapeUtils.escapeXml10("Nothing to see here & move along"));
+    }
+
     // Tests issue #38569
     // https://issues.apache.org/bugzilla/show_bug.cgi?id=38569
     @Test
@@ -25,9 +25,16 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Random;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemProperties;
@@ -86,6 +93,7 @@ public class StringSubstitutorTest {
             assertFalse(substitutor.replaceIn((TextStringBuilder) null, 0, 100));
         } else {
             assertEquals(replaceTemplate, replace(substitutor, replaceTemplate));
+            assertEquals(replaceTemplate, substitutor.compile(replaceTemplate).render());
             final TextStringBuilder builder = new TextStringBuilder(replaceTemplate);
             assertFalse(substitutor.replaceIn(builder));
             assertEquals(replaceTemplate, builder.toString());
@@ -103,6 +111,9 @@ public class StringSubstitutorTest {
             assertEquals(expectedShortResult, sub.replace(replaceTemplate, 1, replaceTemplate.length() - 2));
         }
 
+        // replace using a compiled template
+        assertEquals(expectedResult, sub.compile(replaceTemplate).render());
+
         // replace using char[]
         final char[] chars = replaceTemplate.toCharArray();
         assertEquals(expectedResult, sub.replace(chars));
@@ -196,6 +207,137 @@ public class StringSubstitutorTest {
         values = null;
     }
 
+    @Test
+    void testBuilder() {
+        final StringSubstitutor sub = StringSubstitutor.builder().setVariableResolver(StringLookupFactory.INSTANCE.mapStringLookup(values))
+            .setVariablePrefix("%{").setVariableSuffix('}').setEscapeChar('%').setValueDelimiter("?").setEnableSubstitutionInVariables(true)
+            .setEnableUndefinedVariableException(true).setMemoizeValues(true).get();
+        assertEquals('%', sub.getEscapeChar());
+        assertTrue(sub.isEnableSubstitutionInVariables());
+        assertTrue(sub.isEnableUndefinedVariableException());
+        assertTrue(sub.isMemoizeValues());
+        assertFalse(sub.isDisableSubstitutionInValues());
+        assertFalse(sub.isPreserveEscapes());
+        assertEquals("The quick brown fox jumps over the lazy dog. %{animal} d", sub.replace("The %{animal} jumps over the %{target}. %%{animal} %{x?d}"));
+        assertEquals("The quick brown fox", sub.compile("The %{animal}").render());
+        assertThrows(IllegalArgumentException.class, () -> sub.replace("%{undefined}"));
+        // the same defaults as a new instance
+        final StringSubstitutor defaults = StringSubstitutor.builder().get();
+        assertEquals(new StringSubstitutor().toString(), defaults.toString());
+        assertEquals("${animal}", defaults.replace("${animal}"));
+        assertThrows(IllegalArgumentException.class, () -> StringSubstitutor.builder().setVariablePrefix((String) null));
+        // a copy is mutable
+        final StringSubstitutor copy = new StringSubstitutor(sub);
+        copy.setEscapeChar('$');
+        assertEquals("The quick brown fox $", copy.replace("The %{animal} $"));
+    }
+
+    @Test
+    void testBuilderImmutable() {
+        final StringSubstitutor.Builder builder = StringSubstitutor.builder().setVariableResolver(StringLookupFactory.INSTANCE.mapStringLookup(values));
+        final StringSubstitutor sub = builder.get();
+        final List<Runnable> setters = Arrays.asList(() -> sub.setDisableSubstitutionInValues(true), () -> sub.setEnableSubstitutionInVariables(true),
+            () -> sub.setEnableUndefinedVariableException(true), () -> sub.setEscapeChar('%'), () -> sub.setMemoizeValues(true),
+            () -> sub.setPreserveEscapes(true), () -> sub.setValueDelimiter('?'), () -> sub.setValueDelimiter("?"), () -> sub.setValueDelimiterMatcher(null),
+            () -> sub.setVariablePrefix('%'), () -> sub.setVariablePrefix("%"), () -> sub.setVariablePrefixMatcher(StringSubstitutor.DEFAULT_PREFIX),
+            () -> sub.setVariableResolver(null), () -> sub.setVariableSuffix('%'), () -> sub.setVariableSuffix("%"),
+            () -> sub.setVariableSuffixMatcher(StringSubstitutor.DEFAULT_SUFFIX));
+        setters.forEach(setter -> assertThrows(UnsupportedOperationException.class, setter::run));
+        // building again does not alter the instances built
+        builder.setVariablePrefix('%');
+        assertEquals("The quick brown fox %animal}", sub.replace("The ${animal} %animal}"));
+        assertEquals("The ${animal} quick brown fox", builder.get().replace("The ${animal} %animal}"));
+        // shared by threads
+        final String template = "The ${animal} jumps over the ${target}.";
+        final StringSubstitutor.Template compiled = sub.compile(template);
+        Collections.nCopies(10_000, template).parallelStream().forEach(t -> {
+            assertEquals("The quick brown fox jumps over the lazy dog.", sub.replace(t));
+            assertEquals("The quick brown fox jumps over the lazy dog.", compiled.render());
+        });
+    }
+
+    @Test
+    void testCompile() {
+        final StringSubstitutor sub = new StringSubstitutor(values);
+        final StringSubstitutor.Template template = sub.compile(CLASSIC_TEMPLATE);
+        assertEquals(CLASSIC_TEMPLATE, template.getSource());
+        assertEquals(CLASSIC_TEMPLATE, template.toString());
+        assertEquals(CLASSIC_RESULT, template.render());
+        values.put("animal", "cat");
+        assertEquals("The cat jumps over the lazy dog.", template.render());
+        assertSame("no variables", sub.compile("no variables").render());
+        assertEquals("", sub.compile("").render());
+        assertThrows(NullPointerException.class, () -> sub.compile(null));
+    }
+
+    @Test
+    void testCompileKeepsSettings() {
+        values.put("key", "animal");
+        final StringSubstitutor sub = new StringSubstitutor(values);
+        sub.setEnableSubstitutionInVariables(true);
+        final StringSubstitutor.Template template = sub.compile("The ${${key}}");
+        // the variable names are substituted with the settings at the time of compiling
+        sub.setVariablePrefix("%{");
+        sub.setVariableResolver(null);
+        assertEquals("The quick brown fox", template.render());
+    }
+
+    @Test
+    void testCompileSameAsReplace() {
+        final String[] tokens = { "$", "{", "}", "${", "$${", ":-", "a", "b", "e", "d", "x", "${a}", "${b}", "${e}", "${d}", "${x}", "${c1}", "$$",
+            "${a:-x}", "${${a}}", "${x:-${b}}", " " };
+        final Map<String, String> map = new HashMap<>();
+        map.put("a", "b");
+        map.put("b", "B$");
+        map.put("e", "");
+        map.put("d", "${a}$");
+        map.put("b$", "dollar");
+        map.put("c1", "${c2}");
+        map.put("c2", "${c1}");
+        final Random random = new Random(21);
+        for (int i = 0; i < 20_000; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int count = random.nextInt(8);
+            for (int j = 0; j < count; j++) {
+                builder.append(tokens[random.nextInt(tokens.length)]);
+            }
+            final String source = builder.toString();
+            final StringSubstitutor sub = new StringSubstitutor(map);
+            sub.setEnableSubstitutionInVariables(random.nextBoolean());
+            sub.setDisableSubstitutionInValues(random.nextInt(4) == 0);
+            sub.setPreserveEscapes(random.nextInt(4) == 0);
+            sub.setEnableUndefinedVariableException(random.nextInt(4) == 0);
+            // a subclass substitutes in place
+            final StringSubstitutor inPlace = new StringSubstitutor(sub) {
+                // empty
+            };
+            sub.setMemoizeValues(random.nextBoolean());
+            String expected;
+            try {
+                expected = inPlace.replace(source);
+            } catch (final RuntimeException e) {
+                assertEquals(e.getMessage(), assertThrows(e.getClass(), () -> sub.replace(source), source).getMessage(), source);
+                assertEquals(e.getMessage(), assertThrows(e.getClass(), () -> sub.compile(source).render(), source).getMessage(), source);
+                continue;
+            }
+            assertEquals(expected, sub.replace(source), () -> source + " with " + sub);
+            assertEquals(expected, sub.compile(source).render(), () -> source + " with " + sub);
+        }
+    }
+
+    @Test
+    void testReplaceReturnsSourceWhenUnaltered() {
+        final StringSubstitutor sub = new StringSubstitutor(values);
+        final String noPrefix = "no variables here, only $ and { and }";
+        assertSame(noPrefix, sub.replace(noPrefix));
+        final String undefined = "${undefined} and ${also.undefined}";
+        assertSame(undefined, sub.replace(undefined));
+        final String escapedNoSuffix = "${a} and $${b";
+        assertEquals("1 and $${b", sub.replace(escapedNoSuffix));
+        final String unclosed = "${a";
+        assertSame(unclosed, sub.replace(unclosed));
+    }
+
     @Test
     void testConstructorNullMap() {
         final Map<String, Object> parameters = null;
@@ -234,6 +376,22 @@ public class StringSubstitutorTest {
         assertThrows(IllegalStateException.class, () -> StringSubstitutor.replace("Hi <name>.", map, "<", ">"));
     }
 
+    /**
+     * Tests that a variable named like the whole source is no cycle, it used to be reported as one with an empty path.
+     */
+    @Test
+    void testDetectsCyclicSubstitutionNotOnSource() {
+        final Map<String, String> map = new HashMap<>();
+        map.put("t", "${${a}}");
+        map.put("a", "${${a}}");
+        final StringSubstitutor sub = new StringSubstitutor(map);
+        sub.setDisableSubstitutionInValues(true);
+        sub.setEnableSubstitutionInVariables(true);
+        assertEquals("${${a}}", sub.replace("${${a}}"));
+        assertEquals("${${a}}", sub.compile("${${a}}").render());
+        assertEquals("${${a}}", sub.replace("${t}"));
+    }
+
     /**
      * Tests get set.
      */
@@ -257,6 +415,131 @@ public class StringSubstitutorTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void testMemoizeValues() {
+        final Map<String, String> map = new HashMap<>();
+        map.put("a", "${b}-${b}");
+        map.put("b", "${c}${c}");
+        map.put("c", "x");
+        final Map<String, Integer> lookups = new HashMap<>();
+        final StringSubstitutor sub = new StringSubstitutor(key -> {
+            lookups.merge(key, 1, Integer::sum);
+            return map.get(key);
+        });
+        assertFalse(sub.isMemoizeValues());
+        final String source = "${a} ${b} ${a} ${undefined:-z}";
+        assertEquals("xx-xx xx xx-xx z", sub.replace(source));
+        assertEquals(Integer.valueOf(2), lookups.get("a"));
+        assertEquals(Integer.valueOf(10), lookups.get("c"));
+        assertSame(sub, sub.setMemoizeValues(true));
+        assertTrue(sub.isMemoizeValues());
+        assertTrue(new StringSubstitutor(sub).isMemoizeValues());
+        // each path resolves each variable once per substitution
+        final List<Supplier<String>> paths = Arrays.asList(() -> sub.replace(source), () -> sub.replace(new TextStringBuilder(source)),
+            () -> sub.compile(source).render());
+        for (final Supplier<String> path : paths) {
+            lookups.clear();
+            assertEquals("xx-xx xx xx-xx z", path.get());
+            assertEquals(Integer.valueOf(1), lookups.get("a"));
+            assertEquals(Integer.valueOf(1), lookups.get("b"));
+            assertEquals(Integer.valueOf(1), lookups.get("c"));
+            assertEquals(Integer.valueOf(1), lookups.get("undefined"));
+        }
+        // cycles are still detected
+        map.put("c", "${a}");
+        final IllegalStateException e = assertThrows(IllegalStateException.class, () -> sub.replace("${b} ${a}"));
+        assertEquals("Infinite loop in property interpolation of ${b} ${a}: b->c->a", e.getMessage());
+    }
+
+    @Test
+    void testResolveAll() {
+        final Map<String, String> map = new LinkedHashMap<>();
+        map.put("url", "${scheme}://${host}:${port}/${path}");
+        map.put("scheme", "https");
+        map.put("host", "${name}.${domain}");
+        map.put("name", "www");
+        map.put("port", "${undefined:-443}");
+        map.put("path", "$${escaped}/${home}");
+        map.put("empty", "");
+        map.put("null", null);
+        final StringSubstitutor sub = new StringSubstitutor(
+            key -> "domain".equals(key) ? "example.${tld}" : "tld".equals(key) ? "org" : "home".equals(key) ? "${name}" : null);
+        final Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("url", "https://www.example.org:443/${escaped}/www");
+        expected.put("scheme", "https");
+        expected.put("host", "www.example.org");
+        expected.put("name", "www");
+        expected.put("port", "443");
+        expected.put("path", "${escaped}/www");
+        expected.put("empty", "");
+        expected.put("null", null);
+        final Map<String, String> resolved = sub.resolveAll(map);
+        assertEquals(expected, resolved);
+        assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(resolved.keySet()));
+        assertEquals(expected, sub.resolveAll(map, true));
+        // same as replacing each value in turn
+        final StringSubstitutor each = new StringSubstitutor(key -> map.containsKey(key) ? map.get(key) : sub.getStringLookup().apply(key));
+        map.forEach((key, value) -> assertEquals(each.replace(value), resolved.get(key), key));
+        // references resolve to the values as is
+        sub.setDisableSubstitutionInValues(true);
+        each.setDisableSubstitutionInValues(true);
+        final Map<String, String> unsubstituted = sub.resolveAll(map);
+        assertEquals("https://${name}.${domain}:${undefined:-443}/$${escaped}/${home}", unsubstituted.get("url"));
+        map.forEach((key, value) -> assertEquals(each.replace(value), unsubstituted.get(key), key));
+        // an entry referencing itself is no cycle when values are not substituted
+        map.put("self", "${self}x");
+        assertEquals("${self}xx", each.replace(map.get("self")));
+        assertEquals("${self}xx", sub.resolveAll(map).get("self"));
+        assertEquals("${self}xx", sub.resolveAll(map, true).get("self"));
+        assertTrue(sub.resolveAll(new HashMap<>()).isEmpty());
+        assertThrows(NullPointerException.class, () -> sub.resolveAll(null));
+    }
+
+    @Test
+    void testResolveAllCycle() {
+        final Map<String, String> map = new LinkedHashMap<>();
+        map.put("a", "${b}");
+        map.put("b", "x${c}");
+        map.put("c", "${b}");
+        final StringSubstitutor sub = new StringSubstitutor();
+        assertEquals("Infinite loop in property interpolation of a: a->b->c",
+            assertThrows(IllegalStateException.class, () -> sub.resolveAll(map)).getMessage());
+        assertEquals("Infinite loop in property interpolation of a: a->b->c",
+            assertThrows(IllegalStateException.class, () -> sub.resolveAll(map, true)).getMessage());
+        map.put("self", "${self}");
+        map.put("c", "y");
+        assertEquals("Infinite loop in property interpolation of self: self",
+            assertThrows(IllegalStateException.class, () -> sub.resolveAll(map, true)).getMessage());
+        // the first entry failing in iteration order is reported
+        map.put("a", "${undefined}");
+        map.put("b", "${b}");
+        sub.setEnableUndefinedVariableException(true);
+        for (int i = 0; i < 100; i++) {
+            assertThrows(IllegalArgumentException.class, () -> sub.resolveAll(map, true));
+        }
+    }
+
+    @Test
+    void testResolveAllResolvesEachVariableOnce() {
+        // each entry references the two entries after it, which replacing each value in turn resolves exponentially
+        final Map<String, String> map = new HashMap<>();
+        final int count = 25;
+        for (int i = 0; i < count; i++) {
+            map.put("k" + i, i + 2 < count ? "${k" + (i + 1) + "}${k" + (i + 2) + "}" : "${shared}");
+        }
+        final Map<String, Integer> lookups = new HashMap<>();
+        final StringSubstitutor sub = new StringSubstitutor(key -> {
+            lookups.merge(key, 1, Integer::sum);
+            return "v";
+        });
+        final Map<String, String> resolved = sub.resolveAll(map);
+        assertEquals(Collections.singletonMap("shared", 1), lookups);
+        assertEquals(count, resolved.size());
+        assertEquals(resolved.get("k1") + resolved.get("k2"), resolved.get("k0"));
+        assertEquals(75_025, resolved.get("k0").length());
+        assertEquals(resolved, sub.resolveAll(map, true));
+    }
+
     /**
      * Tests interpolation with weird boundary patterns.
      */
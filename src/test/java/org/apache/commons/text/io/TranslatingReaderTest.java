@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.commons.text.translate.CharSequenceTranslator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link TranslatingReader}.
+ */
+class TranslatingReaderTest {
+
+    /**
+     * Builds a text of escapes, entities and other chars, longer than the chunks streams are translated in.
+     */
+    static String randomText(final Random random, final int length) {
+        final String[] tokens = { "a", "b", " ", "&", ";", "<", ">", "\"", "'", "\\", "\n", "é", "™", "𝔸", "\udd38", "\ud835",
+            "&amp;", "&lt;", "&eacute;", "&#65;", "&#x1D538;", "&#0000000000065;", "\\n", "\\\\", "\\u0041", "\\uuu+00e9", "\\101", "\\7" };
+        final StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            builder.append(tokens[random.nextInt(tokens.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String readAll(final Reader reader, final int targetSize) throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        final char[] target = new char[targetSize];
+        int count;
+        while ((count = reader.read(target, 0, targetSize)) != -1) {
+            builder.append(target, 0, count);
+        }
+        return builder.toString();
+    }
+
+    private void assertTranslation(final CharSequenceTranslator translator) throws IOException {
+        assertTranslation(translator, translator.getLookahead());
+    }
+
+    private void assertTranslation(final CharSequenceTranslator translator, final int lookahead) throws IOException {
+        final Random random = new Random(42);
+        for (final int length : new int[] { 0, 1, 100, 8191, 8192, 8193, 50_000 }) {
+            final String input = randomText(random, length);
+            final String expected = translator.translate(input);
+            for (final int targetSize : new int[] { 1, 7, 8192, 100_000 }) {
+                try (Reader reader = new TranslatingReader(new StringReader(input), translator, lookahead)) {
+                    assertEquals(expected, readAll(reader, targetSize));
+                }
+            }
+            try (Reader reader = new TranslatingReader(new StringReader(input), translator, lookahead)) {
+                final StringBuilder builder = new StringBuilder();
+                int c;
+                while ((c = reader.read()) != -1) {
+                    builder.append((char) c);
+                }
+                assertEquals(expected, builder.toString());
+            }
+        }
+    }
+
+    @Test
+    void testEscapeHtml4() throws IOException {
+        assertTranslation(StringEscapeUtils.ESCAPE_HTML4);
+    }
+
+    @Test
+    void testEscapeJava() throws IOException {
+        assertTranslation(StringEscapeUtils.ESCAPE_JAVA);
+    }
+
+    @Test
+    void testEscapeXml10() throws IOException {
+        assertTranslation(StringEscapeUtils.ESCAPE_XML10);
+    }
+
+    @Test
+    void testMarkNotSupported() throws IOException {
+        try (Reader reader = new TranslatingReader(new StringReader("a"), StringEscapeUtils.ESCAPE_XML10)) {
+            assertFalse(reader.markSupported());
+            assertThrows(IOException.class, () -> reader.mark(1));
+            assertThrows(IOException.class, reader::reset);
+        }
+    }
+
+    @Test
+    void testSkip() throws IOException {
+        try (Reader reader = new TranslatingReader(new StringReader("<a>b"), StringEscapeUtils.ESCAPE_XML10)) {
+            assertEquals(5, reader.skip(5));
+            assertEquals("&gt;b", IOUtils.toString(reader));
+            assertEquals(0, reader.skip(5));
+        }
+    }
+
+    @Test
+    void testUnescapeHtml4() throws IOException {
+        // the lookahead of unescapers is unknown, the escapes of the text are shorter than this
+        assertTranslation(StringEscapeUtils.UNESCAPE_HTML4, 32);
+    }
+
+    @Test
+    void testUnescapeJava() throws IOException {
+        // the lookahead of unescapers is unknown, the escapes of the text are shorter than this
+        assertTranslation(StringEscapeUtils.UNESCAPE_JAVA, 32);
+    }
+
+    @Test
+    void testUnknownLookahead() {
+        assertThrows(IllegalArgumentException.class, () -> new TranslatingReader(new StringReader("a"), StringEscapeUtils.ESCAPE_CSV));
+        assertThrows(IllegalArgumentException.class, () -> new TranslatingReader(new StringReader("a"), StringEscapeUtils.UNESCAPE_JAVA));
+        assertThrows(IllegalArgumentException.class, () -> new TranslatingReader(new StringReader("a"), StringEscapeUtils.ESCAPE_CSV, -1));
+        assertThrows(NullPointerException.class, () -> new TranslatingReader(new StringReader("a"), null));
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Random;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.commons.text.translate.CharSequenceTranslator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link TranslatingWriter}.
+ */
+class TranslatingWriterTest {
+
+    private void assertTranslation(final CharSequenceTranslator translator) throws IOException {
+        assertTranslation(translator, translator.getLookahead());
+    }
+
+    private void assertTranslation(final CharSequenceTranslator translator, final int lookahead) throws IOException {
+        final Random random = new Random(42);
+        for (final int length : new int[] { 0, 1, 100, 8191, 8192, 8193, 50_000 }) {
+            final String input = TranslatingReaderTest.randomText(random, length);
+            final String expected = translator.translate(input);
+            for (final int chunkSize : new int[] { 1, 7, 8192, 100_000 }) {
+                final StringWriter target = new StringWriter();
+                try (Writer writer = new TranslatingWriter(target, translator, lookahead)) {
+                    for (int i = 0; i < input.length(); i += chunkSize) {
+                        final int end = Math.min(input.length(), i + chunkSize);
+                        if (chunkSize == 7) {
+                            writer.write(input.toCharArray(), i, end - i);
+                            writer.flush();
+                        } else {
+                            writer.write(input, i, end - i);
+                        }
+                    }
+                }
+                assertEquals(expected, target.toString());
+            }
+        }
+    }
+
+    @Test
+    void testEscapeHtml4() throws IOException {
+        assertTranslation(StringEscapeUtils.ESCAPE_HTML4);
+    }
+
+    @Test
+    void testEscapeJava() throws IOException {
+        assertTranslation(StringEscapeUtils.ESCAPE_JAVA);
+    }
+
+    @Test
+    void testEscapeXml10() throws IOException {
+        assertTranslation(StringEscapeUtils.ESCAPE_XML10);
+    }
+
+    @Test
+    void testFlushKeepsLookaheadWindow() throws IOException {
+        final StringWriter target = new StringWriter();
+        try (Writer writer = new TranslatingWriter(target, StringEscapeUtils.UNESCAPE_XML, 32)) {
+            writer.write("a&lt;b&am");
+            writer.flush();
+            assertEquals("", target.toString());
+            writer.write("p;");
+        }
+        assertEquals("a<b&", target.toString());
+    }
+
+    @Test
+    void testUnescapeHtml4() throws IOException {
+        // the lookahead of unescapers is unknown, the escapes of the text are shorter than this
+        assertTranslation(StringEscapeUtils.UNESCAPE_HTML4, 32);
+    }
+
+    @Test
+    void testUnescapeJava() throws IOException {
+        // the lookahead of unescapers is unknown, the escapes of the text are shorter than this
+        assertTranslation(StringEscapeUtils.UNESCAPE_JAVA, 32);
+    }
+
+    @Test
+    void testUnknownLookahead() {
+        assertThrows(IllegalArgumentException.class, () -> new TranslatingWriter(new StringWriter(), StringEscapeUtils.ESCAPE_CSV));
+        assertThrows(IllegalArgumentException.class, () -> new TranslatingWriter(new StringWriter(), StringEscapeUtils.UNESCAPE_JAVA));
+        assertThrows(IllegalArgumentException.class, () -> new TranslatingWriter(new StringWriter(), StringEscapeUtils.ESCAPE_CSV, -1));
+        assertThrows(NullPointerException.class, () -> new TranslatingWriter(new StringWriter(), null));
+    }
+
+}
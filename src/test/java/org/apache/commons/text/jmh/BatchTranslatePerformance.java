@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Performance analysis of escaping many short fields one at a time and in a batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class BatchTranslatePerformance {
+
+    /**
+     * Short log fields, one in four needs escaping.
+     */
+    @State(Scope.Benchmark)
+    public static class InputData {
+
+        /** The fields. */
+        private String[] fields;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final String[] words = { "GET", "/index.html", "200", "Mozilla/5.0", "user-42", "say \"hi\"", "tab\tseparated", "2024-01-01T00:00:00Z" };
+            final Random random = new Random(13);
+            fields = new String[1000];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = words[random.nextInt(words.length)];
+            }
+        }
+    }
+
+    @Benchmark
+    public void testEscapeJsonEach(final InputData data, final Blackhole blackhole) {
+        for (final String field : data.fields) {
+            blackhole.consume(StringEscapeUtils.escapeJson(field));
+        }
+    }
+
+    @Benchmark
+    public String[] testTranslateAll(final InputData data) {
+        return StringEscapeUtils.ESCAPE_JSON.translateAll(data.fields);
+    }
+}
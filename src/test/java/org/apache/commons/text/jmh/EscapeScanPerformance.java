@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.commons.text.translate.AggregateTranslator;
+import org.apache.commons.text.translate.CharSequenceTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Performance analysis of the scan for the first char to escape, on inputs with nothing to escape. The baselines test one char at a time, comparing them
+ * with the scans of the escapers over increasing lengths shows where scanning several chars at a time starts to pay off.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class EscapeScanPerformance {
+
+    /**
+     * Input text without chars to escape.
+     */
+    @State(Scope.Benchmark)
+    public static class InputData {
+
+        /** Length of the input. */
+        @Param({"4", "8", "16", "32", "64", "256", "4096"})
+        private int length;
+
+        /** The input. */
+        private String input;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final String words = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ";
+            final StringBuilder builder = new StringBuilder(length);
+            while (builder.length() < length) {
+                builder.append(words.charAt(builder.length() % words.length()));
+            }
+            // CSV would quote the comma
+            input = builder.toString().replace(',', ';');
+        }
+    }
+
+    /** Tests one char at a time, old implementation of CsvEscaper. */
+    private static final char[] CSV_SEARCH_CHARS = { ',', '"', '\r', '\n' };
+
+    /** Tests one char at a time with CharSequenceTranslator.isTranslatable(char). */
+    private static final CharSequenceTranslator ESCAPE_JSON_BASELINE = new AggregateTranslator(StringEscapeUtils.ESCAPE_JSON);
+
+    /** Tests one char at a time with CharSequenceTranslator.isTranslatable(char). */
+    private static final CharSequenceTranslator ESCAPE_XML10_BASELINE = new AggregateTranslator(StringEscapeUtils.ESCAPE_XML10);
+
+    @Benchmark
+    public String testEscapeCsv(final InputData data) {
+        return StringEscapeUtils.escapeCsv(data.input);
+    }
+
+    @Benchmark
+    public boolean testEscapeCsvBaseline(final InputData data) {
+        return StringUtils.containsNone(data.input, CSV_SEARCH_CHARS);
+    }
+
+    @Benchmark
+    public String testEscapeJson(final InputData data) {
+        return StringEscapeUtils.ESCAPE_JSON.translate(data.input);
+    }
+
+    @Benchmark
+    public String testEscapeJsonBaseline(final InputData data) {
+        return ESCAPE_JSON_BASELINE.translate(data.input);
+    }
+
+    @Benchmark
+    public String testEscapeXml10(final InputData data) {
+        return StringEscapeUtils.ESCAPE_XML10.translate(data.input);
+    }
+
+    @Benchmark
+    public String testEscapeXml10Baseline(final InputData data) {
+        return ESCAPE_XML10_BASELINE.translate(data.input);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.text.jmh;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.translate.AggregateTranslator;
+import org.apache.commons.text.translate.CharSequenceTranslator;
+import org.apache.commons.text.translate.EntityArrays;
+import org.apache.commons.text.translate.LookupTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Performance analysis for {@link LookupTranslator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class LookupTranslatorPerformance {
+
+    /**
+     * Older implementation of LookupTranslator probing a HashMap with a substring for each candidate length.
+     * Code is copied from Apache Commons Text version 1.15.0.
+     */
+    private static final class BaselineLookupTranslator extends CharSequenceTranslator {
+
+        private final Map<String, String> lookupMap;
+        private final BitSet prefixSet;
+        private final int shortest;
+        private final int longest;
+
+        BaselineLookupTranslator(final Map<CharSequence, CharSequence> lookupMap) {
+            this.lookupMap = new HashMap<>();
+            this.prefixSet = new BitSet();
+            int currentShortest = Integer.MAX_VALUE;
+            int currentLongest = 0;
+            for (final Map.Entry<CharSequence, CharSequence> pair : lookupMap.entrySet()) {
+                this.lookupMap.put(pair.getKey().toString(), pair.getValue().toString());
+                this.prefixSet.set(pair.getKey().charAt(0));
+                final int sz = pair.getKey().length();
+                if (sz < currentShortest) {
+                    currentShortest = sz;
+                }
+                if (sz > currentLongest) {
+                    currentLongest = sz;
+                }
+            }
+            this.shortest = currentShortest;
+            this.longest = currentLongest;
+        }
+
+        @Override
+        public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+            if (prefixSet.get(input.charAt(index))) {
+                int max = longest;
+                if (index + longest > input.length()) {
+                    max = input.length() - index;
+                }
+                for (int i = max; i >= shortest; i--) {
+                    final CharSequence subSeq = input.subSequence(index, index + i);
+                    final String result = lookupMap.get(subSeq.toString());
+                    if (result != null) {
+                        writer.write(result);
+                        return Character.codePointCount(subSeq, 0, subSeq.length());
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Input text with a given density of HTML entities.
+     */
+    @State(Scope.Benchmark)
+    public static class InputData {
+
+        /** Number of plain characters between two entities. */
+        @Param({"0", "8", "64"})
+        private int gap;
+
+        /** The escaped HTML 4 input. */
+        private String escaped;
+
+        /** The unescaped HTML 4 input. */
+        private String unescaped;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final StringBuilder escapedBuilder = new StringBuilder();
+            final StringBuilder unescapedBuilder = new StringBuilder();
+            final String[] entities = { "&amp;", "&lt;", "&eacute;", "&thetasym;", "&nbsp;", "&#38;", "&unknown;" };
+            final String[] chars = { "&", "<", "é", "ϑ", " ", "\"", "™" };
+            for (int i = 0; i < 256; i++) {
+                for (int j = 0; j < gap; j++) {
+                    escapedBuilder.append((char) ('a' + j % 26));
+                    unescapedBuilder.append((char) ('a' + j % 26));
+                }
+                escapedBuilder.append(entities[i % entities.length]);
+                unescapedBuilder.append(chars[i % chars.length]);
+            }
+            escaped = escapedBuilder.toString();
+            unescaped = unescapedBuilder.toString();
+        }
+    }
+
+    private static final CharSequenceTranslator ESCAPE = new AggregateTranslator(
+            new LookupTranslator(EntityArrays.BASIC_ESCAPE),
+            new LookupTranslator(EntityArrays.ISO8859_1_ESCAPE),
+            new LookupTranslator(EntityArrays.HTML40_EXTENDED_ESCAPE));
+
+    private static final CharSequenceTranslator ESCAPE_BASELINE = new AggregateTranslator(
+            new BaselineLookupTranslator(EntityArrays.BASIC_ESCAPE),
+            new BaselineLookupTranslator(EntityArrays.ISO8859_1_ESCAPE),
+            new BaselineLookupTranslator(EntityArrays.HTML40_EXTENDED_ESCAPE));
+
+    private static final CharSequenceTranslator UNESCAPE = new AggregateTranslator(
+            new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
+            new LookupTranslator(EntityArrays.ISO8859_1_UNESCAPE),
+            new LookupTranslator(EntityArrays.HTML40_EXTENDED_UNESCAPE));
+
+    private static final CharSequenceTranslator UNESCAPE_BASELINE = new AggregateTranslator(
+            new BaselineLookupTranslator(EntityArrays.BASIC_UNESCAPE),
+            new BaselineLookupTranslator(EntityArrays.ISO8859_1_UNESCAPE),
+            new BaselineLookupTranslator(EntityArrays.HTML40_EXTENDED_UNESCAPE));
+
+    @Benchmark
+    public String testEscape(final InputData data) {
+        return ESCAPE.translate(data.unescaped);
+    }
+
+    @Benchmark
+    public String testEscapeBaseline(final InputData data) {
+        return ESCAPE_BASELINE.translate(data.unescaped);
+    }
+
+    @Benchmark
+    public String testUnescape(final InputData data) {
+        return UNESCAPE.translate(data.escaped);
+    }
+
+    @Benchmark
+    public String testUnescapeBaseline(final InputData data) {
+        return UNESCAPE_BASELINE.translate(data.escaped);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.StringSubstitutor;
+import org.apache.commons.text.lookup.StringLookupFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Performance analysis of variable substitution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class StringSubstitutorPerformance {
+
+    /**
+     * A template and the values of its variables.
+     */
+    @State(Scope.Benchmark)
+    public static class InputData {
+
+        /** The number of variable references of the template. */
+        @Param({"4", "64"})
+        private int variables;
+
+        /** The template. */
+        private String template;
+
+        /** The substitutor. */
+        private StringSubstitutor substitutor;
+
+        /** The compiled template. */
+        private StringSubstitutor.Template compiled;
+
+        /** The immutable substitutor shared by the threads. */
+        private StringSubstitutor immutable;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final Map<String, String> values = new HashMap<>();
+            final StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < variables; i++) {
+                values.put("key" + i, "value number " + i);
+                builder.append("Some literal text of the template, then a variable: ${key").append(i).append("}.\n");
+            }
+            template = builder.toString();
+            substitutor = new StringSubstitutor(values);
+            compiled = substitutor.compile(template);
+            immutable = StringSubstitutor.builder().setVariableResolver(StringLookupFactory.INSTANCE.mapStringLookup(values)).get();
+        }
+    }
+
+    @Benchmark
+    public String testCompiled(final InputData data) {
+        return data.compiled.render();
+    }
+
+    @Benchmark
+    public String testReplace(final InputData data) {
+        return data.substitutor.replace(data.template);
+    }
+
+    /**
+     * Replaces with the immutable substitutor in one thread, the baseline of {@link #testImmutableSharedByThreads(InputData)}.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String testImmutable(final InputData data) {
+        return data.immutable.replace(data.template);
+    }
+
+    /**
+     * Replaces with the immutable substitutor shared by as many threads as there are processors, the throughput scaling with them.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(Threads.MAX)
+    public String testImmutableSharedByThreads(final InputData data) {
+        return data.immutable.replace(data.template);
+    }
+}
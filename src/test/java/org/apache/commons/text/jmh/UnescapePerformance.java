@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.commons.text.translate.AggregateTranslator;
+import org.apache.commons.text.translate.CharSequenceTranslator;
+import org.apache.commons.text.translate.EntityArrays;
+import org.apache.commons.text.translate.LookupTranslator;
+import org.apache.commons.text.translate.OctalUnescaper;
+import org.apache.commons.text.translate.UnicodeUnescaper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Performance analysis of unescaping. The Java baselines are the chain of translators {@link StringEscapeUtils#UNESCAPE_JAVA} used to be, as is and
+ * compiled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class UnescapePerformance {
+
+    /**
+     * Input text, escaped Java and HTML.
+     */
+    @State(Scope.Benchmark)
+    public static class InputData {
+
+        /** The kind of text: prose with a few escapes, or mostly escapes. */
+        @Param({"sparse", "dense"})
+        private String corpus;
+
+        /** The Java escaped input. */
+        private String java;
+
+        /** The HTML escaped input. */
+        private String html;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final String[] words = "sparse".equals(corpus)
+                ? new String[] { "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "\"quoted\"", "line\n" }
+                : new String[] { "\u00e9t\u00e9", "caf\u00e9", "na\u00efve", "\"q\"", "\t\n", "\\", "\u4e2d\u6587", "\ud835\udd38" };
+            final Random random = new Random(18);
+            final StringBuilder builder = new StringBuilder();
+            while (builder.length() < 4096) {
+                builder.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            final String input = builder.toString();
+            java = StringEscapeUtils.escapeJava(input);
+            html = StringEscapeUtils.escapeHtml4(input);
+        }
+    }
+
+    /** The chain of translators unescaping Java. */
+    private static final CharSequenceTranslator UNESCAPE_JAVA_CHAIN;
+
+    static {
+        final Map<CharSequence, CharSequence> unescapeJavaMap = new HashMap<>();
+        unescapeJavaMap.put("\\\\", "\\");
+        unescapeJavaMap.put("\\\"", "\"");
+        unescapeJavaMap.put("\\'", "'");
+        unescapeJavaMap.put("\\", "");
+        UNESCAPE_JAVA_CHAIN = new AggregateTranslator(new OctalUnescaper(), new UnicodeUnescaper(),
+                new LookupTranslator(EntityArrays.JAVA_CTRL_CHARS_UNESCAPE), new LookupTranslator(unescapeJavaMap));
+    }
+
+    /** The chain of translators unescaping Java, compiled. */
+    private static final CharSequenceTranslator UNESCAPE_JAVA_COMPILED = ((AggregateTranslator) UNESCAPE_JAVA_CHAIN).compile();
+
+    @Benchmark
+    public String testUnescapeHtml4(final InputData data) {
+        return StringEscapeUtils.UNESCAPE_HTML4.translate(data.html);
+    }
+
+    @Benchmark
+    public String testUnescapeJava(final InputData data) {
+        return StringEscapeUtils.UNESCAPE_JAVA.translate(data.java);
+    }
+
+    @Benchmark
+    public String testUnescapeJavaChain(final InputData data) {
+        return UNESCAPE_JAVA_CHAIN.translate(data.java);
+    }
+
+    @Benchmark
+    public String testUnescapeJavaCompiled(final InputData data) {
+        return UNESCAPE_JAVA_COMPILED.translate(data.java);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.commons.text.translate.CharSequenceTranslator;
+import org.apache.commons.text.translate.CodePointTranslator;
+import org.apache.commons.text.translate.JavaUnicodeEscaper;
+import org.apache.commons.text.translate.NumericEntityEscaper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Performance analysis of escaping non-ASCII text to Unicode escapes and numeric entities. The baselines build a String for the digits of each escaped code
+ * point, as the escapers used to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class UnicodeEscapePerformance {
+
+    /**
+     * Input text, mostly made of non-ASCII code points.
+     */
+    @State(Scope.Benchmark)
+    public static class InputData {
+
+        /** The kind of text: CJK ideographs, accented Latin-1 or supplementary emoji, mixed with ASCII. */
+        @Param({"cjk", "latin1", "emoji"})
+        private String corpus;
+
+        /** The input. */
+        private String input;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(11);
+            final StringBuilder builder = new StringBuilder();
+            while (builder.length() < 4096) {
+                if (random.nextInt(4) == 0) {
+                    builder.append(' ');
+                } else if ("cjk".equals(corpus)) {
+                    builder.append((char) (0x4E00 + random.nextInt(0x5000)));
+                } else if ("latin1".equals(corpus)) {
+                    builder.append((char) (0xC0 + random.nextInt(0x40)));
+                } else {
+                    builder.appendCodePoint(0x1F600 + random.nextInt(0x50));
+                }
+            }
+            input = builder.toString();
+        }
+    }
+
+    /** Escapes supplementary code points through JavaUnicodeEscaper.toUtf16Escape(int), building a String. */
+    private static final CharSequenceTranslator ESCAPE_UNICODE_BASELINE = new JavaUnicodeEscaper(32, 0x7f, false) {
+        // a subclass goes through toUtf16Escape()
+    };
+
+    /** Escapes like NumericEntityEscaper.above(0x7f) with Integer.toString(int). */
+    private static final CharSequenceTranslator ESCAPE_NUMERIC_BASELINE = new CodePointTranslator() {
+        @Override
+        public boolean translate(final int codePoint, final Writer writer) throws IOException {
+            if (codePoint <= 0x7f) {
+                return false;
+            }
+            writer.write("&#");
+            writer.write(Integer.toString(codePoint, 10));
+            writer.write(';');
+            return true;
+        }
+    };
+
+    /** Escapes code points above ASCII to numeric entities. */
+    private static final CharSequenceTranslator ESCAPE_NUMERIC = NumericEntityEscaper.above(0x7f);
+
+    /** Escapes code points outside of printable ASCII to Unicode escapes. */
+    private static final CharSequenceTranslator ESCAPE_UNICODE = JavaUnicodeEscaper.outsideOf(32, 0x7f);
+
+    @Benchmark
+    public String testEscapeJava(final InputData data) {
+        return StringEscapeUtils.ESCAPE_JAVA.translate(data.input);
+    }
+
+    @Benchmark
+    public String testEscapeNumeric(final InputData data) {
+        return ESCAPE_NUMERIC.translate(data.input);
+    }
+
+    @Benchmark
+    public String testEscapeNumericBaseline(final InputData data) {
+        return ESCAPE_NUMERIC_BASELINE.translate(data.input);
+    }
+
+    @Benchmark
+    public String testEscapeUnicode(final InputData data) {
+        return ESCAPE_UNICODE.translate(data.input);
+    }
+
+    @Benchmark
+    public String testEscapeUnicodeBaseline(final InputData data) {
+        return ESCAPE_UNICODE_BASELINE.translate(data.input);
+    }
+}
@@ -20,8 +20,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +32,107 @@ import org.junit.jupiter.api.Test;
  */
 class AggregateTranslatorTest {
 
+    private static String randomText(final Random random, final int length) {
+        final String alphabet = "ab &#;<>\"'\\/\n\t\u0000\u0085\u0090\u00e9\u03b8\u2122\ud835\udd38\udd38\ufffe";
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            if (random.nextInt(8) == 0) {
+                builder.append((char) random.nextInt(Character.MAX_VALUE + 1));
+            } else {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static void assertCompiledEquals(final AggregateTranslator translator) {
+        final CharSequenceTranslator compiled = translator.compile();
+        final Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            final String input = randomText(random, random.nextInt(40));
+            assertEquals(translator.translate(input), compiled.translate(input), input);
+        }
+    }
+
+    @Test
+    void testCompile() {
+        final Map<CharSequence, CharSequence> map = new HashMap<>();
+        map.put("\"", "\\\"");
+        map.put("\\", "\\\\");
+        assertCompiledEquals(new AggregateTranslator(
+                new LookupTranslator(map),
+                new LookupTranslator(EntityArrays.JAVA_CTRL_CHARS_ESCAPE),
+                JavaUnicodeEscaper.outsideOf(32, 0x7f)));
+        assertCompiledEquals(new AggregateTranslator(
+                new LookupTranslator(EntityArrays.BASIC_ESCAPE),
+                new LookupTranslator(EntityArrays.APOS_ESCAPE),
+                NumericEntityEscaper.between(0x1, 0x8),
+                NumericEntityEscaper.between(0x7f, 0x84),
+                new UnicodeUnpairedSurrogateRemover()));
+        assertCompiledEquals(new AggregateTranslator(
+                new LookupTranslator(EntityArrays.BASIC_ESCAPE),
+                new LookupTranslator(EntityArrays.ISO8859_1_ESCAPE),
+                new LookupTranslator(EntityArrays.HTML40_EXTENDED_ESCAPE),
+                UnicodeEscaper.above(0xffff)));
+        assertCompiledEquals(new AggregateTranslator(
+                new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
+                new LookupTranslator(EntityArrays.ISO8859_1_UNESCAPE),
+                new NumericEntityUnescaper()));
+    }
+
+    @Test
+    void testCompileMultiCharKeysAndUnknownTranslators() throws IOException {
+        final Map<CharSequence, CharSequence> map = new HashMap<>();
+        map.put("\r\n", "");
+        map.put("\n", "N");
+        map.put("&", "&amp;");
+        final CharSequenceTranslator unknown = new CharSequenceTranslator() {
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+                if (input.charAt(index) == 'a') {
+                    writer.write('A');
+                    return 1;
+                }
+                return 0;
+            }
+        };
+        final AggregateTranslator translator = new AggregateTranslator(new AggregateTranslator(new LookupTranslator(map), null), unknown,
+                new LookupTranslator(EntityArrays.BASIC_ESCAPE));
+        assertCompiledEquals(translator);
+        final CharSequenceTranslator compiled = translator.compile();
+        assertEquals("xyNzA&amp;&lt;b\r", compiled.translate("x\r\ny\nza&<b\r"));
+        assertEquals("x", compiled.translate("x"));
+        assertEquals("", new AggregateTranslator().compile().translate(""));
+        assertEquals("foo", new AggregateTranslator().compile().translate("foo"));
+    }
+
+    @Test
+    void testCompileSubclasses() {
+        final LookupTranslator lookup = new LookupTranslator(EntityArrays.BASIC_ESCAPE) {
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+                if (input.charAt(index) == 'a') {
+                    writer.write('A');
+                    return 1;
+                }
+                return super.translate(input, index, writer);
+            }
+        };
+        final NumericEntityEscaper numeric = new NumericEntityEscaper() {
+            @Override
+            public boolean translate(final int codePoint, final Writer writer) throws IOException {
+                if (codePoint == 'b') {
+                    writer.write("&#98;");
+                    return true;
+                }
+                return false;
+            }
+        };
+        final AggregateTranslator translator = new AggregateTranslator(lookup, numeric);
+        assertCompiledEquals(translator);
+        assertEquals("A&#98;&lt;c", translator.compile().translate("ab<c"));
+    }
+
     @Test
     void testNonNull() throws IOException {
         final Map<CharSequence, CharSequence> oneTwoMap = new HashMap<>();
@@ -63,4 +166,23 @@ class AggregateTranslatorTest {
         assertEquals(testString, subject.translate(testString));
     }
 
+    @Test
+    void testSubclassOverridingTranslate() {
+        final AggregateTranslator translator = new AggregateTranslator(new LookupTranslator(EntityArrays.BASIC_ESCAPE)) {
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+                if (input.charAt(index) == 'x') {
+                    writer.write('X');
+                    return 1;
+                }
+                return super.translate(input, index, writer);
+            }
+        };
+        assertEquals("X&lt;y", translator.translate("x<y"));
+        assertEquals("X&lt;y", new AggregateTranslator(translator).translate("x<y"));
+        assertEquals("X&lt;y", new AggregateTranslator(translator).compile().translate("x<y"));
+        // the lookahead of the aggregated translators does not bound the one of the subclass
+        assertEquals(-1, translator.getLookahead());
+    }
+
 }
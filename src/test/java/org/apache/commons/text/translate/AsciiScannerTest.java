@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.apache.commons.text.TextStringBuilder;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link AsciiScanner}.
+ */
+class AsciiScannerTest {
+
+    private static final AsciiScanner SCANNER = new AsciiScanner('"', '\\', '\n');
+
+    private static int expectedIndexIn(final CharSequence input, final int index, final int end) {
+        for (int i = index; i < end; i++) {
+            final char c = input.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int expectedIndexOf(final CharSequence input, final int index, final int end) {
+        for (int i = index; i < end; i++) {
+            final char c = input.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n' || c >= 0x80) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    @Test
+    void testIndexOf() {
+        final Random random = new Random(42);
+        final String alphabet = "abcdefgh \"\\\n\u007f\u0080é™Āƀ";
+        for (int i = 0; i < 2000; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int length = random.nextInt(200);
+            // mostly plain ASCII so that long ranges are skipped
+            final int rare = 1 + random.nextInt(100);
+            for (int j = 0; j < length; j++) {
+                builder.append(random.nextInt(rare) == 0 ? alphabet.charAt(random.nextInt(alphabet.length())) : (char) ('a' + random.nextInt(8)));
+            }
+            final int index = random.nextInt(length + 1);
+            final int end = index + random.nextInt(length - index + 1);
+            for (final CharSequence input : new CharSequence[] { builder.toString(), builder, new TextStringBuilder(builder) }) {
+                assertEquals(expectedIndexOf(input, index, end), SCANNER.indexOf(input, index, end), builder::toString);
+                assertEquals(expectedIndexIn(input, index, end), SCANNER.indexIn(input, index, end), builder::toString);
+            }
+        }
+    }
+
+    @Test
+    void testIndexOfEmptySet() {
+        final AsciiScanner scanner = new AsciiScanner();
+        final String input = "The quick brown fox jumps over the lazy dog, the quick brown fox é";
+        assertEquals(input.length() - 1, scanner.indexOf(input, 0, input.length()));
+        assertEquals(input.length(), scanner.indexIn(input, 0, input.length()));
+        assertEquals(10, scanner.indexOf(input, 10, 10));
+    }
+
+}
@@ -17,13 +17,31 @@
  package org.apache.commons.text.translate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.commons.text.TextStringBuilder;
 import org.junit.jupiter.api.Test;
 
 
@@ -38,6 +56,33 @@ class CharSequenceTranslatorTest {
 
     }
 
+    /**
+     * Translates an input through a CharBuffer of the given size into another one, like a file translated a region at a time.
+     */
+    private static String translateBuffers(final CharSequenceTranslator translator, final String input, final int inputSize, final int outputSize,
+            final boolean direct) {
+        final CharBuffer in = direct ? ByteBuffer.allocateDirect(inputSize * 2).asCharBuffer() : CharBuffer.allocate(inputSize);
+        final CharBuffer out = direct ? ByteBuffer.allocateDirect(outputSize * 2).asCharBuffer() : CharBuffer.allocate(outputSize);
+        final StringBuilder result = new StringBuilder();
+        int next = 0;
+        while (true) {
+            while (in.hasRemaining() && next < input.length()) {
+                in.put(input.charAt(next++));
+            }
+            in.flip();
+            final boolean endOfInput = next == input.length();
+            final boolean complete = translator.translate(in, out, endOfInput);
+            out.flip();
+            result.append(out);
+            out.clear();
+            in.compact();
+            if (endOfInput && complete) {
+                assertEquals(0, in.position());
+                return result.toString();
+            }
+        }
+    }
+
     //Used to count translate invocations
     private int translateInvocationCounter;
 
@@ -54,6 +99,279 @@ class CharSequenceTranslatorTest {
                 () -> translator.translate("."));
     }
 
+    @Test
+    void testTranslateAll() {
+        final String clean = "clean";
+        final String[] inputs = { clean, "a\"b", null, "", "x\ty", "a much longer value with \"quotes\" to grow the buffer", "c\nd" };
+        final String[] outputs = StringEscapeUtils.ESCAPE_JSON.translateAll(inputs);
+        assertEquals(inputs.length, outputs.length);
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals(StringEscapeUtils.ESCAPE_JSON.translate(inputs[i]), outputs[i]);
+        }
+        assertSame(clean, outputs[0]);
+        assertEquals(Arrays.asList(outputs), StringEscapeUtils.ESCAPE_JSON.translateAll(Arrays.asList(inputs)));
+        assertSame(clean, StringEscapeUtils.ESCAPE_JSON.translateAll(Collections.singleton(clean)).get(0));
+        assertEquals("\"a,b\"", StringEscapeUtils.ESCAPE_CSV.translateAll(new StringBuilder("a,b"))[0]);
+        assertThrows(NullPointerException.class, () -> StringEscapeUtils.ESCAPE_JSON.translateAll((CharSequence[]) null));
+        assertThrows(NullPointerException.class, () -> StringEscapeUtils.ESCAPE_JSON.translateAll((Iterable<CharSequence>) null));
+    }
+
+    @Test
+    void testTranslateCharBuffer() {
+        final String[] tokens = { "a", "b", " ", "&", ";", "<", ">", "\"", "\\", "\n", "\u00e9", "\ud835\udd38", "\udd38", "\ud835",
+            "&amp;", "&eacute;", "&#65;", "&#x1D538;", "\\n", "\\u0041", "\\101", "plain text ", StringUtils.repeat('x', 80) };
+        final Random random = new Random(17);
+        final StringBuilder builder = new StringBuilder();
+        while (builder.length() < 5_000) {
+            builder.append(tokens[random.nextInt(tokens.length)]);
+        }
+        final String input = builder.toString();
+        // the escapes of unknown length of the unescapers of StringEscapeUtils cannot be translated through buffers
+        for (final CharSequenceTranslator translator : new CharSequenceTranslator[] { StringEscapeUtils.ESCAPE_JSON, StringEscapeUtils.ESCAPE_XML10,
+            StringEscapeUtils.ESCAPE_HTML4, new AggregateTranslator(new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
+                new LookupTranslator(EntityArrays.ISO8859_1_UNESCAPE)), new OctalUnescaper() }) {
+            final String expected = translator.translate(input);
+            for (final boolean direct : new boolean[] { false, true }) {
+                assertEquals(expected, translateBuffers(translator, input, 40, 16, direct));
+                assertEquals(expected, translateBuffers(translator, input, 1000, 100, direct));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> translateBuffers(StringEscapeUtils.UNESCAPE_JAVA, input, 40, 16, false));
+    }
+
+    @Test
+    void testTranslateCharBufferPartial() {
+        final CharSequenceTranslator translator = new LookupTranslator(EntityArrays.BASIC_ESCAPE);
+        final CharBuffer in = CharBuffer.wrap("ab<c");
+        final CharBuffer out = CharBuffer.allocate(4);
+        // the translation of '<' does not fit, it is left in the input
+        assertFalse(translator.translate(in, out, true));
+        assertEquals(2, in.position());
+        assertEquals(2, out.position());
+        out.clear();
+        assertFalse(translator.translate(in, out, true));
+        assertEquals("&lt;", String.valueOf(out.array(), 0, out.position()));
+        assertEquals(3, in.position());
+        out.clear();
+        assertTrue(translator.translate(in, out, true));
+        assertEquals(1, out.position());
+        assertFalse(in.hasRemaining());
+        // a surrogate pair is not split
+        final CharBuffer pair = CharBuffer.wrap("a\ud835\udd38");
+        final CharBuffer small = CharBuffer.allocate(2);
+        assertFalse(translator.translate(pair, small, true));
+        assertEquals(1, pair.position());
+        assertThrows(IllegalArgumentException.class, () -> new TestCharSequenceTranslator().translate(in, out, false));
+        assertThrows(NullPointerException.class, () -> translator.translate(null, out, true));
+        // a translation longer than the capacity of the output would never fit
+        final CharBuffer tiny = CharBuffer.allocate(3);
+        assertThrows(IllegalArgumentException.class, () -> translator.translate(CharBuffer.wrap("a<"), tiny, true));
+        assertEquals(1, tiny.position());
+    }
+
+    @Test
+    void testTranslateChannel() throws IOException {
+        final String[] tokens = { "plain ", "\u00e9t\u00e9", "<", "&", ">", "\ud835\udd38", "\"", "&amp;", "&eacute;", "&#x1D538;", "\n" };
+        final Random random = new Random(19);
+        final StringBuilder builder = new StringBuilder();
+        while (builder.length() < 50_000) {
+            builder.append(tokens[random.nextInt(tokens.length)]);
+        }
+        final String input = builder.toString();
+        for (final CharSequenceTranslator translator : new CharSequenceTranslator[] { StringEscapeUtils.ESCAPE_XML10, StringEscapeUtils.ESCAPE_JSON,
+            new LookupTranslator(EntityArrays.BASIC_UNESCAPE) }) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            translator.translate(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))), Channels.newChannel(output),
+                StandardCharsets.UTF_8);
+            assertEquals(translator.translate(input), new String(output.toByteArray(), StandardCharsets.UTF_8));
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class, () -> new TestCharSequenceTranslator().translate(
+            Channels.newChannel(new ByteArrayInputStream(new byte[0])), Channels.newChannel(output), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testTranslateChars() throws IOException {
+        final String input = "a\ud83d\ude00<\u00e9\ud835\udd38&\ud835x\udd38\\u0041\\\ud83d\ude00";
+        for (final CharSequenceTranslator translator : new CharSequenceTranslator[] { StringEscapeUtils.ESCAPE_JSON, StringEscapeUtils.ESCAPE_XML10,
+            StringEscapeUtils.ESCAPE_HTML4, StringEscapeUtils.UNESCAPE_JAVA, new AggregateTranslator(new LookupTranslator(EntityArrays.BASIC_ESCAPE),
+                JavaUnicodeEscaper.above(0x7f)), NumericEntityEscaper.above(0x7f), new MeteredTranslator(StringEscapeUtils.ESCAPE_JSON) }) {
+            for (int index = 0; index < input.length(); index++) {
+                final StringWriter expected = new StringWriter();
+                final int codePoints = translator.translate(input, index, expected);
+                final StringWriter actual = new StringWriter();
+                assertEquals(input.offsetByCodePoints(index, codePoints) - index, translator.translateChars(input, index, actual));
+                assertEquals(expected.toString(), actual.toString());
+            }
+        }
+    }
+
+    @Test
+    void testTranslatedLength() {
+        final String[] tokens = { "a", " ", "&", "<", "\"", "\\", "\n", "\u00e9", "\u03b8", "\ud835\udd38", "\ud835", "&amp;", "&thetasym;", "&#65;",
+            "\\u0041", "a,b" };
+        final Random random = new Random(14);
+        for (final CharSequenceTranslator translator : new CharSequenceTranslator[] { StringEscapeUtils.ESCAPE_JSON, StringEscapeUtils.ESCAPE_HTML4,
+            StringEscapeUtils.ESCAPE_XML10, StringEscapeUtils.ESCAPE_CSV, StringEscapeUtils.UNESCAPE_HTML4, StringEscapeUtils.UNESCAPE_JAVA }) {
+            assertEquals(0, translator.translatedLength(null));
+            for (int i = 0; i < 100; i++) {
+                final StringBuilder builder = new StringBuilder();
+                final int count = random.nextInt(50);
+                for (int j = 0; j < count; j++) {
+                    builder.append(tokens[random.nextInt(tokens.length)]);
+                }
+                final String expected = translator.translate(builder);
+                assertEquals(expected.length(), translator.translatedLength(builder), builder::toString);
+                assertEquals(expected.length(), translator.translatedLength(builder.toString()), builder::toString);
+            }
+        }
+    }
+
+    @Test
+    void testTranslateOnlyOffersTranslatableChars() throws IOException {
+        final StringBuilder offered = new StringBuilder();
+        // Upper cases 'a' and drops lone low surrogates
+        final CharSequenceTranslator translator = new CharSequenceTranslator() {
+            @Override
+            protected boolean isTranslatable(final char ch) {
+                return ch == 'a' || Character.isLowSurrogate(ch);
+            }
+
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+                final char ch = input.charAt(index);
+                offered.append(ch);
+                if (ch == 'a') {
+                    writer.write('A');
+                    return 1;
+                }
+                return Character.isLowSurrogate(ch) ? 1 : 0;
+            }
+        };
+        assertEquals("xAyA\ud835\udd38z", translator.translate(new StringBuilder("xay\udd38a\ud835\udd38z")));
+        assertEquals("a\udd38a", offered.toString());
+        final StringWriter writer = new StringWriter();
+        translator.translate("bab", writer);
+        assertEquals("bAb", writer.toString());
+    }
+
+    @Test
+    void testTranslateReturnsInputWithNothingToTranslate() {
+        final String input = "abc\ud835\udd38";
+        final CharSequenceTranslator translator = new LookupTranslator(EntityArrays.BASIC_ESCAPE);
+        assertSame(input, translator.translate(input));
+        assertSame(input, new AggregateTranslator(translator).translate(input));
+        assertSame(input, new AggregateTranslator(translator).compile().translate(input));
+        assertSame("", translator.translate(""));
+        assertEquals(input, translator.translate(new StringBuilder(input)));
+        assertEquals("abc&amp;", translator.translate("abc&"));
+    }
+
+    @Test
+    void testTranslateToAppendable() throws IOException {
+        final CharSequenceTranslator translator = new LookupTranslator(EntityArrays.BASIC_ESCAPE);
+        final TextStringBuilder builder = new TextStringBuilder();
+        translator.translateTo("a<b", builder);
+        translator.translateTo(null, builder);
+        translator.translateTo(new StringBuilder("&c"), builder);
+        assertEquals("a&lt;b&amp;c", builder.toString());
+        builder.clear();
+        translator.translateTo("\"", builder);
+        assertEquals("&quot;", builder.toString());
+        final StringWriter writer = new StringWriter();
+        translator.translateTo("x>", writer);
+        assertEquals("x&gt;", writer.toString());
+        assertThrows(IllegalArgumentException.class, () -> translator.translateTo("", (Appendable) null));
+    }
+
+    @Test
+    void testTranslateToCharArray() {
+        final CharSequenceTranslator translator = new AggregateTranslator(new LookupTranslator(EntityArrays.BASIC_ESCAPE), new NumericEntityUnescaper());
+        final char[] array = new char[32];
+        final int end = translator.translateTo("a<b&#65;", array, 2);
+        assertEquals(2 + translator.translatedLength("a<b&#65;"), end);
+        assertEquals("a&lt;b&amp;#65;", String.valueOf(array, 2, end - 2));
+        assertEquals(end, translator.translateTo(null, array, end));
+        assertEquals(end + 2, translator.translateTo(new StringBuilder("\ud835\udd38"), array, end));
+        assertEquals("a&lt;b&amp;#65;\ud835\udd38", String.valueOf(array, 2, end));
+        // no room for the translation of '<'
+        assertThrows(IndexOutOfBoundsException.class, () -> translator.translateTo("ab<", array, 29));
+        assertEquals('b', array[30]);
+        assertThrows(IndexOutOfBoundsException.class, () -> translator.translateTo("", array, 33));
+        assertThrows(IndexOutOfBoundsException.class, () -> translator.translateTo("", array, -1));
+        assertThrows(IllegalArgumentException.class, () -> translator.translateTo("", (char[]) null, 0));
+    }
+
+    @Test
+    void testTranslateToStringBuilder() {
+        final CharSequenceTranslator translator = new AggregateTranslator(new LookupTranslator(EntityArrays.BASIC_ESCAPE), new NumericEntityUnescaper());
+        final StringBuilder builder = new StringBuilder("start:");
+        assertSame(builder, translator.translateTo("a<b&#65;", builder));
+        assertSame(builder, translator.translateTo(null, builder));
+        assertEquals("start:a&lt;b&amp;#65;", builder.toString());
+        assertEquals("start:a&lt;b&amp;#65;\ud835\udd38", translator.translateTo("\ud835\udd38", builder).toString());
+        assertThrows(IllegalArgumentException.class, () -> translator.translateTo("", (StringBuilder) null));
+    }
+
+    @Test
+    void testTranslateParallel() {
+        final String[] tokens = { "a", "b", " ", "&", ";", "<", ">", "\"", "\\", "\n", "\u00e9", "\ud835\udd38", "\udd38", "\ud835",
+            "&amp;", "&eacute;", "&#65;", "&#x1D538;", "\\n", "\\u0041", "\\101", "plain text " };
+        final Random random = new Random(10);
+        final StringBuilder builder = new StringBuilder();
+        while (builder.length() < 20_000) {
+            builder.append(tokens[random.nextInt(tokens.length)]);
+        }
+        final String input = builder.toString();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final CharSequenceTranslator translator : new CharSequenceTranslator[] { StringEscapeUtils.ESCAPE_JSON, StringEscapeUtils.ESCAPE_XML10,
+                StringEscapeUtils.ESCAPE_HTML4, StringEscapeUtils.ESCAPE_CSV, StringEscapeUtils.UNESCAPE_HTML4, StringEscapeUtils.UNESCAPE_JAVA }) {
+                final String expected = translator.translate(input);
+                for (final int chunkSize : new int[] { 1, 7, 100, 5000 }) {
+                    assertEquals(expected, translator.translateParallel(input, pool, chunkSize));
+                }
+                assertEquals(expected, translator.translateParallel(input, pool));
+            }
+            assertNull(StringEscapeUtils.ESCAPE_JSON.translateParallel(null, pool));
+            assertThrows(NullPointerException.class, () -> StringEscapeUtils.ESCAPE_JSON.translateParallel(input, null));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testTranslateParallelLookaheadTooSmall() {
+        // claims to examine 2 chars but replaces "<ab" as a whole
+        final CharSequenceTranslator translator = new CharSequenceTranslator() {
+            @Override
+            public int getLookahead() {
+                return 2;
+            }
+
+            @Override
+            protected boolean isTranslatable(final char ch) {
+                return ch == '<';
+            }
+
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+                if (input.length() - index >= 3 && "<ab".contentEquals(input.subSequence(index, index + 3))) {
+                    writer.write("[3]");
+                    return 3;
+                }
+                return 0;
+            }
+        };
+        final String input = StringUtils.repeat("<ab", 300);
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(translator.translate(input), translator.translateParallel(input, pool, 4));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     void testWith() throws IOException {
         final CharSequenceTranslator charSequenceTranslatorOne = new TestCharSequenceTranslator();
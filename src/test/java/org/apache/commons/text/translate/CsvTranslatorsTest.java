@@ -17,6 +17,9 @@
 package org.apache.commons.text.translate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.io.StringWriter;
@@ -27,6 +30,59 @@ import org.junit.jupiter.api.Test;
 
 class CsvTranslatorsTest {
 
+    @Test
+    void testCsvDialectDefault() {
+        final CsvTranslators.CsvDialect dialect = CsvTranslators.CsvDialect.DEFAULT;
+        assertEquals(',', dialect.getDelimiter());
+        assertEquals('"', dialect.getQuote());
+        assertEquals("\r\n", dialect.getRecordSeparator());
+        assertFalse(dialect.isQuoteAll());
+        for (final String input : new String[] { "", "a", "a,b", "\"", "a\"\"b", "\r\n", "\u00e9\"\u00e9", "\"a\"" }) {
+            assertEquals(new CsvTranslators.CsvEscaper().translate(input), dialect.getEscaper().translate(input), input);
+            assertEquals(new CsvTranslators.CsvUnescaper().translate(input), dialect.getUnescaper().translate(input), input);
+        }
+    }
+
+    @Test
+    void testCsvDialectEscapeRow() throws IOException {
+        final CsvTranslators.CsvDialect dialect = CsvTranslators.CsvDialect.builder().setDelimiter(';').setRecordSeparator("\n").get();
+        final StringBuilder builder = new StringBuilder();
+        dialect.escapeRow(new String[] { "a", "b;c", null, "d\"e", "f,g" }, builder);
+        dialect.escapeRow(new String[] { "x" }, builder);
+        assertEquals("a;\"b;c\";;\"d\"\"e\";f,g\nx\n", builder.toString());
+        final StringWriter writer = new StringWriter();
+        dialect.escapeRow(new CharSequence[] { new StringBuilder("1;2"), "3" }, writer);
+        assertEquals("\"1;2\";3\n", writer.toString());
+        assertThrows(IllegalArgumentException.class, () -> dialect.escapeRow(new String[0], (StringBuilder) null));
+    }
+
+    @Test
+    void testCsvDialectInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> CsvTranslators.CsvDialect.builder().setDelimiter('"').get());
+        assertThrows(IllegalArgumentException.class, () -> CsvTranslators.CsvDialect.builder().setRecordSeparator(",").get());
+        assertThrows(NullPointerException.class, () -> CsvTranslators.CsvDialect.builder().setRecordSeparator(null));
+    }
+
+    @Test
+    void testCsvDialectNonAscii() {
+        final CsvTranslators.CsvDialect dialect = CsvTranslators.CsvDialect.builder().setDelimiter('\u00a7').setQuote('\u00ab').get();
+        assertEquals("a,b", dialect.getEscaper().translate("a,b"));
+        assertEquals("\u00aba\u00a7b\u00ab", dialect.getEscaper().translate("a\u00a7b"));
+        assertEquals("\u00aba\u00ab\u00abb\u00ab", dialect.getEscaper().translate("a\u00abb"));
+        assertEquals("a\u00abb", dialect.getUnescaper().translate("\u00aba\u00ab\u00abb\u00ab"));
+    }
+
+    @Test
+    void testCsvDialectQuoteAll() {
+        final CsvTranslators.CsvDialect dialect = CsvTranslators.CsvDialect.builder().setQuote('\'').setQuoteAll(true).get();
+        assertEquals("'a'", dialect.getEscaper().translate("a"));
+        assertEquals("'it''s'", dialect.getEscaper().translate("it's"));
+        assertEquals("", dialect.getEscaper().translate(""));
+        assertEquals("'','x'\r\n", dialect.escapeRow(new String[] { "", "x" }, new StringBuilder()).toString());
+        assertEquals("it's", dialect.getUnescaper().translate("'it''s'"));
+        assertEquals("a\"b", dialect.getUnescaper().translate("a\"b"));
+    }
+
     @Test
     void testCsvEscaperCommaTest() throws IOException {
         final CsvTranslators.CsvEscaper escaper = new CsvTranslators.CsvEscaper();
@@ -67,6 +123,15 @@ class CsvTranslatorsTest {
         assertEquals(data, input);
     }
 
+    @Test
+    void testCsvEscaperPlainTextReturnsInput() {
+        final CsvTranslators.CsvEscaper escaper = new CsvTranslators.CsvEscaper();
+        final String input = "hi this is just a plane text nothing to do with csv, but for this comma!";
+        assertEquals("\"" + input + "\"", escaper.translate(input));
+        final String plain = input.replace(',', ';') + "\u00e9\ud83d\ude00";
+        assertSame(plain, escaper.translate(plain));
+    }
+
     @Test
     void testCsvEscaperQuoteTest() throws IOException {
         final CsvTranslators.CsvEscaper escaper = new CsvTranslators.CsvEscaper();
@@ -18,9 +18,12 @@
 package org.apache.commons.text.translate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
+import java.util.Collections;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -120,4 +123,35 @@ class EntityArraysTest {
         testEscapeVsUnescapeMaps(EntityArrays.JAVA_CTRL_CHARS_ESCAPE, EntityArrays.JAVA_CTRL_CHARS_UNESCAPE);
     }
 
+    @Test
+    void testToCodePointTable() {
+        final String[] table = EntityArrays.toCodePointTable(EntityArrays.BASIC_ESCAPE, EntityArrays.HTML40_EXTENDED_ESCAPE);
+        assertEquals(0x2666 + 1, table.length);
+        assertEquals("&amp;", table['&']);
+        assertEquals("&hearts;", table[0x2665]);
+        assertNull(table['a']);
+        for (final Map.Entry<CharSequence, CharSequence> entry : EntityArrays.HTML40_EXTENDED_ESCAPE.entrySet()) {
+            assertEquals(entry.getValue(), table[entry.getKey().charAt(0)]);
+        }
+    }
+
+    @Test
+    void testToCodePointTableFirstMapWins() {
+        final String[] table = EntityArrays.toCodePointTable(EntityArrays.BASIC_ESCAPE, Collections.singletonMap("&", "AMP"));
+        assertEquals("&amp;", table['&']);
+    }
+
+    @Test
+    void testToCodePointTableRejectsLongKeys() {
+        assertThrows(IllegalArgumentException.class, () -> EntityArrays.toCodePointTable(Collections.singletonMap("ab", "x")));
+        assertThrows(IllegalArgumentException.class, () -> EntityArrays.toCodePointTable(Collections.singletonMap("", "x")));
+    }
+
+    @Test
+    void testToCodePointTableSupplementary() {
+        final String[] table = EntityArrays.toCodePointTable(Collections.singletonMap("\uD83D\uDE00", "smile"));
+        assertEquals(0x1F600 + 1, table.length);
+        assertEquals("smile", table[0x1F600]);
+    }
+
 }
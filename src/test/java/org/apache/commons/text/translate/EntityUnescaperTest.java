@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link EntityUnescaper}.
+ */
+class EntityUnescaperTest {
+
+    @Test
+    void testFirstMapWins() {
+        final EntityUnescaper unescaper = new EntityUnescaper(EntityArrays.APOS_UNESCAPE,
+                Collections.singletonMap("&apos;", "APOS"));
+        assertEquals("'", unescaper.translate("&apos;"));
+    }
+
+    @Test
+    void testFirstMapWinsOverLongerName() {
+        final EntityUnescaper unescaper = new EntityUnescaper(Collections.singletonMap("&a", "1"), Collections.singletonMap("&ab", "2"));
+        final CharSequenceTranslator aggregate = new AggregateTranslator(new LookupTranslator(Collections.singletonMap("&a", "1")),
+                new LookupTranslator(Collections.singletonMap("&ab", "2")), new NumericEntityUnescaper());
+        assertEquals("1b", unescaper.translate("&ab"));
+        assertEquals(aggregate.translate("&ab&a&#65;"), unescaper.translate("&ab&a&#65;"));
+        assertEquals("2", new EntityUnescaper(Collections.singletonMap("&ab", "2"), Collections.singletonMap("&a", "1")).translate("&ab"));
+    }
+
+    @Test
+    void testHostileInput() {
+        final EntityUnescaper unescaper = new EntityUnescaper(EntityArrays.BASIC_UNESCAPE);
+        final String input = StringUtils.repeat("&#", 10_000) + StringUtils.repeat("&#9", 10_000) + "&#999999999999999999999999&";
+        assertEquals(input, unescaper.translate(input));
+    }
+
+    @Test
+    void testNameNotStartingWithAmpersand() {
+        assertThrows(IllegalArgumentException.class, () -> new EntityUnescaper(EntityArrays.BASIC_UNESCAPE, Collections.singletonMap("amp;", "&")));
+        assertThrows(IllegalArgumentException.class, () -> new EntityUnescaper(Collections.singletonMap("", "x")));
+    }
+
+    @Test
+    void testSameAsAggregate() {
+        final CharSequenceTranslator aggregate = new AggregateTranslator(
+                new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
+                new LookupTranslator(EntityArrays.ISO8859_1_UNESCAPE),
+                new LookupTranslator(EntityArrays.HTML40_EXTENDED_UNESCAPE),
+                new NumericEntityUnescaper());
+        final EntityUnescaper unescaper = new EntityUnescaper(EntityArrays.BASIC_UNESCAPE, EntityArrays.ISO8859_1_UNESCAPE,
+                EntityArrays.HTML40_EXTENDED_UNESCAPE);
+        final String[] tokens = { "a", " ", "&", "#", ";", "x", "1", "&amp;", "&lt;", "&eacute;", "&thetasym;", "&nbsp", "&#65;", "&#x1D538;", "&#X41;",
+            "&#12a;", "&#;", "&#x;", "&#1114112;", "&unknown;" };
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int count = random.nextInt(12);
+            for (int j = 0; j < count; j++) {
+                builder.append(tokens[random.nextInt(tokens.length)]);
+            }
+            final String input = builder.toString();
+            assertEquals(aggregate.translate(input), unescaper.translate(input), input);
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link EscaperBuilder}.
+ */
+class EscaperBuilderTest {
+
+    @Test
+    void testEmpty() {
+        assertEquals("a<b", new EscaperBuilder().get().translate("a<b"));
+    }
+
+    @Test
+    void testFirstRuleWins() {
+        final CharSequenceTranslator translator = new EscaperBuilder()
+                .escape('<', "LT")
+                .escape('<', "lt")
+                .escapeOutsideAsNumericEntities(0x20, 0x7e)
+                .escape('\u00e9', "e")
+                .get();
+        assertEquals("LT&#233;&#10;", translator.translate("<\u00e9\n"));
+    }
+
+    @Test
+    void testHtml4() {
+        final CharSequenceTranslator translator = new EscaperBuilder()
+                .escape(EntityArrays.BASIC_ESCAPE)
+                .escape(EntityArrays.ISO8859_1_ESCAPE)
+                .escape(EntityArrays.HTML40_EXTENDED_ESCAPE)
+                .get();
+        assertInstanceOf(TableTranslator.class, translator);
+        final String input = "<p class=\"x\">caf\u00e9 &amp; \u03b8 \u2665 \uD83D\uDE00</p>";
+        assertEquals(StringEscapeUtils.ESCAPE_HTML4.translate(input), translator.translate(input));
+    }
+
+    @Test
+    void testInvalidCodePoint() {
+        assertThrows(IllegalArgumentException.class, () -> new EscaperBuilder().escape(-1, "x"));
+        assertThrows(IllegalArgumentException.class, () -> new EscaperBuilder().remove(Character.MAX_CODE_POINT + 1));
+        assertThrows(NullPointerException.class, () -> new EscaperBuilder().escape('a', null));
+    }
+
+    @Test
+    void testMarkdown() {
+        final CharSequenceTranslator translator = new EscaperBuilder()
+                .escape("\\`*_{}[]()#+-.!|", "\\")
+                .get();
+        assertEquals("\\*bold\\* and \\_em\\_ \\[link\\]\\(url\\) 1\\. x", translator.translate("*bold* and _em_ [link](url) 1. x"));
+    }
+
+    @Test
+    void testMultiCharKeys() {
+        final Map<CharSequence, CharSequence> map = new HashMap<>();
+        map.put("--", "\\-\\-");
+        map.put("/*", "\\/*");
+        final CharSequenceTranslator translator = new EscaperBuilder().escape('\'', "''").escape(map).escape('-', "-").get();
+        assertEquals("it''s - \\-\\- \\/*", translator.translate("it's - -- /*"));
+    }
+
+    @Test
+    void testRemoveAndSurrogates() {
+        final CharSequenceTranslator translator = new EscaperBuilder()
+                .remove(0, 0x7f)
+                .removeUnpairedSurrogates()
+                .escapeOutsideAsUnicode(0x20, 0x7e)
+                .get();
+        assertEquals("ab\\u00E9\\uD83D\\uDE00", translator.translate("a\u0000b\u007f\u00e9\uD83D\uDE00\udc00"));
+    }
+
+    @Test
+    void testSqlLiteral() {
+        final CharSequenceTranslator translator = new EscaperBuilder()
+                .escape('\'', "''")
+                .remove(0)
+                .with(new LookupTranslator(Collections.singletonMap("\\", "\\\\")))
+                .get();
+        assertEquals("O''Brien \\\\ x", translator.translate("O'Brien \\ \u0000x"));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link IncrementalTranslator}.
+ */
+class IncrementalTranslatorTest {
+
+    /** Bounds the length of the escapes of the unescapers, whose lookahead is unknown. */
+    private static final int LOOKAHEAD = 32;
+
+    private static final String HTML = "caf&eacute; &amp; cr&egrave;me &lt;b&gt; &#233; &#x1D538; &thetasym; &unknown; &#; & done";
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalTranslator(new StringBuilder(), StringEscapeUtils.ESCAPE_CSV));
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalTranslator(new StringBuilder(), StringEscapeUtils.UNESCAPE_HTML4));
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalTranslator(new StringBuilder(), StringEscapeUtils.UNESCAPE_HTML4, -1));
+        assertThrows(NullPointerException.class, () -> new IncrementalTranslator(null, StringEscapeUtils.UNESCAPE_HTML4));
+        assertThrows(NullPointerException.class, () -> new IncrementalTranslator(new StringBuilder(), null));
+    }
+
+    @Test
+    void testEntitySplitAcrossChunks() throws IOException {
+        final String expected = StringEscapeUtils.UNESCAPE_HTML4.translate(HTML);
+        final char[] chars = HTML.toCharArray();
+        for (int split = 0; split <= chars.length; split++) {
+            final StringBuilder output = new StringBuilder();
+            final IncrementalTranslator translator = new IncrementalTranslator(output, StringEscapeUtils.UNESCAPE_HTML4, LOOKAHEAD);
+            translator.push(chars, 0, split);
+            translator.push(chars, split, chars.length - split);
+            translator.finish();
+            assertEquals(expected, output.toString(), "split at " + split);
+        }
+    }
+
+    @Test
+    void testPendingEntity() throws IOException {
+        final StringWriter output = new StringWriter();
+        final IncrementalTranslator translator = new IncrementalTranslator(output, StringEscapeUtils.UNESCAPE_XML, LOOKAHEAD);
+        translator.push("a &am");
+        assertEquals(5, translator.getPendingLength());
+        translator.push("p; b");
+        translator.finish();
+        assertEquals(0, translator.getPendingLength());
+        assertEquals("a & b", output.toString());
+        // reusable after finish
+        translator.push("&lt;").finish();
+        assertEquals("a & b<", output.toString());
+    }
+
+    @Test
+    void testRandomChunks() throws IOException {
+        final Random random = new Random(16);
+        final StringBuilder input = new StringBuilder();
+        while (input.length() < 40_000) {
+            input.append(HTML);
+        }
+        for (final CharSequenceTranslator translator : new CharSequenceTranslator[] { StringEscapeUtils.UNESCAPE_HTML4, StringEscapeUtils.UNESCAPE_XML,
+            StringEscapeUtils.UNESCAPE_JAVA, StringEscapeUtils.ESCAPE_JSON }) {
+            final StringBuilder output = new StringBuilder();
+            final IncrementalTranslator incremental = new IncrementalTranslator(output, translator, LOOKAHEAD);
+            int index = 0;
+            while (index < input.length()) {
+                final int count = Math.min(input.length() - index, random.nextInt(20_000));
+                if (random.nextBoolean()) {
+                    incremental.append(input, index, index + count);
+                } else {
+                    incremental.push(input.subSequence(index, index + count));
+                }
+                index += count;
+            }
+            incremental.finish();
+            assertEquals(translator.translate(input), output.toString());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link JavaUnescaper}.
+ */
+class JavaUnescaperTest {
+
+    /** The chain of translators JavaUnescaper stands for. */
+    private static final CharSequenceTranslator CHAIN;
+
+    static {
+        final Map<CharSequence, CharSequence> unescapeJavaMap = new HashMap<>();
+        unescapeJavaMap.put("\\\\", "\\");
+        unescapeJavaMap.put("\\\"", "\"");
+        unescapeJavaMap.put("\\'", "'");
+        unescapeJavaMap.put("\\", "");
+        CHAIN = new AggregateTranslator(new OctalUnescaper(), new UnicodeUnescaper(), new LookupTranslator(EntityArrays.JAVA_CTRL_CHARS_UNESCAPE),
+                new LookupTranslator(unescapeJavaMap));
+    }
+
+    private final JavaUnescaper unescaper = new JavaUnescaper();
+
+    private void assertSameAsChain(final String input) {
+        String expected;
+        try {
+            expected = CHAIN.translate(input);
+        } catch (final IllegalArgumentException e) {
+            assertEquals(e.getMessage(), assertThrows(IllegalArgumentException.class, () -> unescaper.translate(input)).getMessage(), input);
+            return;
+        }
+        assertEquals(expected, unescaper.translate(input), input);
+    }
+
+    @Test
+    void testEscapes() {
+        assertEquals("\b\f\n\r\t\\\"'", unescaper.translate("\\b\\f\\n\\r\\t\\\\\\\"\\'"));
+        assertEquals("A%\u00ff\u001f7\u00018", unescaper.translate("\\u0041\\45\\377\\0377\\18"));
+        assertEquals("A", unescaper.translate("\\uuu+0041"));
+        assertEquals("x9", unescaper.translate("\\x\\9"));
+        assertEquals("a", unescaper.translate("a\\"));
+        assertThrows(IllegalArgumentException.class, () -> unescaper.translate("\\u004"));
+        assertThrows(IllegalArgumentException.class, () -> unescaper.translate("\\u00G1"));
+    }
+
+    @Test
+    void testSameAsChain() {
+        final String[] tokens = { "a", "\\", "u", "+", "0", "1", "3", "4", "7", "8", "9", "A", "f", "g", "-", "b", "n", "t", "r", "\"", "'", "x",
+            "\u00e9", "\ud835\udd38", "\\u00e9", "\\uuu+0041", "\\u+-123", "\\377", "\\400", "\\08" };
+        final Random random = new Random(18);
+        for (int i = 0; i < 20_000; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int count = random.nextInt(12);
+            for (int j = 0; j < count; j++) {
+                builder.append(tokens[random.nextInt(tokens.length)]);
+            }
+            assertSameAsChain(builder.toString());
+        }
+        for (char c = 0; c < 0x100; c++) {
+            assertSameAsChain("\\" + c);
+            assertSameAsChain("\\" + c + "123");
+        }
+    }
+}
@@ -58,4 +58,12 @@ class JavaUnicodeEscaperTest {
         final String encoding = jue.toUtf16Escape(Integer.parseInt("024B62", 16));
         assertEquals("\\uD852\\uDF62", encoding);
     }
+
+    @Test
+    void testTranslateSupplementary() {
+        final JavaUnicodeEscaper jue = JavaUnicodeEscaper.above(0x7f);
+        final String input = "a\uD852\uDF62\u00E9\uDBFF\uDFFF";
+        assertEquals("a\\uD852\\uDF62\\u00E9\\uDBFF\\uDFFF", jue.translate(input));
+        assertEquals(jue.toUtf16Escape(0x24B62), jue.translate("\uD852\uDF62"));
+    }
 }
@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -43,6 +44,12 @@ class LookupTranslatorTest  {
         assertEquals("two", out.toString(), "Incorrect value");
     }
 
+    @Test
+    void testEmptyMap() {
+        final LookupTranslator lt = new LookupTranslator(new HashMap<>());
+        assertEquals("one", lt.translate("one"));
+    }
+
     @Test
     void testFailsToCreateLookupTranslatorThrowsInvalidParameterException() {
         assertThrowsExactly(NullPointerException.class, () -> new LookupTranslator(null));
@@ -60,6 +67,75 @@ class LookupTranslatorTest  {
         assertEquals("two", out.toString(), "Incorrect value");
     }
 
+    @Test
+    void testLongestMatchWins() {
+        final Map<CharSequence, CharSequence> translatorMap = new HashMap<>();
+        translatorMap.put("a", "1");
+        translatorMap.put("ab", "2");
+        translatorMap.put("abcd", "4");
+        final LookupTranslator lt = new LookupTranslator(translatorMap);
+        assertEquals("4", lt.translate("abcd"));
+        assertEquals("2c", lt.translate("abc"));
+        assertEquals("2ce", lt.translate("abce"));
+        assertEquals("1x2", lt.translate("axab"));
+        assertEquals("b", lt.translate("b"));
+    }
+
+    @Test
+    void testPartialMatchAtEndOfInput() throws IOException {
+        final Map<CharSequence, CharSequence> translatorMap = new HashMap<>();
+        translatorMap.put("&amp;", "&");
+        final LookupTranslator lt = new LookupTranslator(translatorMap);
+        final StringWriter out = new StringWriter();
+        assertEquals(0, lt.translate("x&amp", 1, out));
+        assertEquals("", out.toString());
+        assertEquals("x&amp", lt.translate("x&amp"));
+        assertEquals("x&&", lt.translate("x&amp;&"));
+    }
+
+    @Test
+    void testSubclassOverridingTranslate() {
+        final LookupTranslator lt = new LookupTranslator(EntityArrays.BASIC_ESCAPE) {
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+                if (input.charAt(index) == 'x') {
+                    writer.write('X');
+                    return 1;
+                }
+                return super.translate(input, index, writer);
+            }
+        };
+        assertEquals("X&lt;y", lt.translate("x<y"));
+        assertEquals("X", lt.translate("x"));
+        assertEquals("X&lt;y", new AggregateTranslator(lt).translate("x<y"));
+    }
+
+    @Test
+    void testSubclassOverridingTranslateAndIsTranslatable() {
+        final StringBuilder offered = new StringBuilder();
+        final LookupTranslator lt = new LookupTranslator(EntityArrays.BASIC_ESCAPE) {
+            @Override
+            protected boolean isTranslatable(final char ch) {
+                return ch == 'x' || super.isTranslatable(ch);
+            }
+
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+                offered.append(input.charAt(index));
+                if (input.charAt(index) == 'x') {
+                    writer.write('X');
+                    return 1;
+                }
+                return super.translate(input, index, writer);
+            }
+        };
+        assertEquals("X&lt;y", lt.translate("x<y"));
+        assertEquals("x<", offered.toString());
+        offered.setLength(0);
+        assertEquals("X&lt;y", new AggregateTranslator(lt).compile().translate("x<y"));
+        assertEquals("x<", offered.toString());
+    }
+
     @Test
     void testTranslateSupplementaryCharacter() {
         /* Key: string with Mathematical double-struck capital A (U+1D538) */
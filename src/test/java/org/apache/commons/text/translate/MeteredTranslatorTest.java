@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MeteredTranslator}.
+ */
+class MeteredTranslatorTest {
+
+    @Test
+    void testCounters() throws IOException {
+        final MeteredTranslator translator = new MeteredTranslator(StringEscapeUtils.ESCAPE_HTML4);
+        assertSame(StringEscapeUtils.ESCAPE_HTML4, translator.getTranslator());
+        final String input = "plain text with <b> & \u00e9 and \ud835\udd38";
+        final String expected = StringEscapeUtils.ESCAPE_HTML4.translate(input);
+        assertEquals(expected, translator.translate(input));
+        assertEquals(input.length(), translator.getCharsIn());
+        assertEquals(expected.length(), translator.getCharsOut());
+        // '<', '>', '&' and the e acute, the others are passed through by the scan or copied as is
+        assertEquals(4, translator.getTranslations());
+        assertEquals(input.length() - 4, translator.getScannedChars() + translator.getMisses() * 2);
+        assertEquals("TableTranslator[charsIn=" + input.length() + ", charsOut=" + expected.length() + ", scannedChars=" + translator.getScannedChars()
+                + ", translations=4, misses=" + translator.getMisses() + "]", translator.toString());
+        // nothing to translate
+        assertEquals("abc", translator.translate("abc"));
+        assertEquals(input.length() + 3, translator.getCharsIn());
+        translator.reset();
+        assertEquals(0, translator.getCharsIn());
+        assertEquals(0, translator.getCharsOut());
+        assertEquals(0, translator.getScannedChars());
+        assertEquals(0, translator.getTranslations());
+        assertEquals(0, translator.getMisses());
+        final StringWriter writer = new StringWriter();
+        translator.translate("&amp;", writer);
+        assertEquals("&amp;amp;", writer.toString());
+        assertEquals(5, translator.getCharsIn());
+        assertEquals(9, translator.getCharsOut());
+    }
+
+    @Test
+    void testDelegation() {
+        final CharSequenceTranslator delegate = StringEscapeUtils.UNESCAPE_HTML4;
+        final MeteredTranslator translator = new MeteredTranslator(delegate);
+        assertEquals(delegate.getLookahead(), translator.getLookahead());
+        assertEquals(delegate.translatedLength("&lt;&eacute;"), translator.translatedLength("&lt;&eacute;"));
+        assertEquals(0, translator.getCharsIn());
+        assertEquals("<\u00e9", translator.translate("&lt;&eacute;"));
+        assertThrows(NullPointerException.class, () -> new MeteredTranslator(null));
+    }
+
+    @Test
+    void testDisabled() {
+        final MeteredTranslator translator = new MeteredTranslator(StringEscapeUtils.ESCAPE_XML10);
+        translator.setEnabled(false);
+        assertFalse(translator.isEnabled());
+        assertEquals("a&lt;b", translator.translate("a<b"));
+        assertEquals(0, translator.getCharsIn());
+        assertEquals(0, translator.getTranslations());
+        translator.setEnabled(true);
+        assertEquals("a&lt;b", translator.translate("a<b"));
+        assertEquals(3, translator.getCharsIn());
+        assertEquals(1, translator.getTranslations());
+    }
+}
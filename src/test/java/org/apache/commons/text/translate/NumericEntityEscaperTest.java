@@ -52,6 +52,14 @@ class NumericEntityEscaperTest  {
         assertEquals("AD&#70;&#71;Z", result, "Failed to escape numeric entities via the between method");
     }
 
+    @Test
+    void testDecimalDigits() {
+        final NumericEntityEscaper nee = new NumericEntityEscaper();
+        for (final int codePoint : new int[] { 0, 9, 10, 99, 100, 999, 1000, 65535, 65536, 99999, 100000, Character.MAX_CODE_POINT }) {
+            assertEquals("&#" + codePoint + ";", nee.translate(new String(Character.toChars(codePoint))));
+        }
+    }
+
     /** See LANG-617 */
     @Test
     void testSupplementary() {
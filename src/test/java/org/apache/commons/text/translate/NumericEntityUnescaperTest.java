@@ -41,6 +41,14 @@ class NumericEntityUnescaperTest {
         assertEquals("Ws2v8|O=7NR&#cB", numericEntityUnescaper.translate("Ws2v8|O=7NR&#cB"));
     }
 
+    @Test
+    void testInvalidDigits() {
+        final NumericEntityUnescaper neu = new NumericEntityUnescaper();
+        assertEquals("&#12a; &#; &#x; &#&#A", neu.translate("&#12a; &#; &#x; &#&#&#65;"));
+        assertEquals("&#99999999999999999999; &#xFFFFFFFFFFFFFFFF;", neu.translate("&#99999999999999999999; &#xFFFFFFFFFFFFFFFF;"));
+        assertEquals("A\u00e9\uD803\uDC22", neu.translate("&#0000065;&#xE9;&#X10c22;"));
+    }
+
     @Test
     void testOutOfBounds() {
         final NumericEntityUnescaper neu = new NumericEntityUnescaper();
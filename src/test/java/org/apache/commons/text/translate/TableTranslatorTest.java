@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link TableTranslator}.
+ */
+class TableTranslatorTest {
+
+    private static final CharSequenceTranslator HTML4_LOOKUP = new AggregateTranslator(
+            new LookupTranslator(EntityArrays.BASIC_ESCAPE),
+            new LookupTranslator(EntityArrays.ISO8859_1_ESCAPE),
+            new LookupTranslator(EntityArrays.HTML40_EXTENDED_ESCAPE));
+
+    @Test
+    void testLookahead() {
+        assertEquals(1, new TableTranslator(EntityArrays.BASIC_ESCAPE).getLookahead());
+        assertEquals(2, new TableTranslator(Collections.singletonMap("\uD83D\uDE00", "smile")).getLookahead());
+    }
+
+    @Test
+    void testPlainInputReturnedAsIs() {
+        final String input = "plain text without anything to escape, long enough to be scanned in blocks";
+        assertEquals(input, new TableTranslator(EntityArrays.BASIC_ESCAPE).translate(input));
+    }
+
+    @Test
+    void testSameAsLookup() {
+        final TableTranslator table = new TableTranslator(EntityArrays.BASIC_ESCAPE, EntityArrays.ISO8859_1_ESCAPE, EntityArrays.HTML40_EXTENDED_ESCAPE);
+        final Random random = new Random(9);
+        for (int i = 0; i < 500; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int length = random.nextInt(200);
+            for (int j = 0; j < length; j++) {
+                switch (random.nextInt(4)) {
+                case 0:
+                    builder.append((char) random.nextInt(0x80));
+                    break;
+                case 1:
+                    builder.append((char) (0xA0 + random.nextInt(0x60)));
+                    break;
+                case 2:
+                    builder.append((char) (0x2000 + random.nextInt(0x700)));
+                    break;
+                default:
+                    builder.appendCodePoint(0x1F600 + random.nextInt(0x40));
+                    break;
+                }
+            }
+            final String input = builder.toString();
+            assertEquals(HTML4_LOOKUP.translate(input), table.translate(input), input);
+        }
+    }
+
+    @Test
+    void testSupplementary() {
+        final TableTranslator translator = new TableTranslator(Collections.singletonMap("\uD83D\uDE00", "smile"));
+        assertEquals("a smile b", translator.translate("a \uD83D\uDE00 b"));
+        assertEquals("\uD83D\uDE01 \uD83D", translator.translate("\uD83D\uDE01 \uD83D"));
+    }
+
+    @Test
+    void testTable() {
+        final String[] table = new String[0x80];
+        table['<'] = "LT";
+        final TableTranslator translator = new TableTranslator(table);
+        table['<'] = "changed";
+        assertEquals("a LT b > c", translator.translate("a < b > c"));
+        assertEquals("", translator.translate(""));
+        assertThrows(IllegalArgumentException.class, () -> new TableTranslator(new String[Character.MAX_CODE_POINT + 2]));
+    }
+
+    @Test
+    void testWithinCompiledAggregate() {
+        final CharSequenceTranslator compiled = new AggregateTranslator(
+                new TableTranslator(EntityArrays.BASIC_ESCAPE),
+                new LookupTranslator(EntityArrays.ISO8859_1_ESCAPE)).compile();
+        assertEquals("&lt;&eacute;&gt; \uD83D\uDE00", compiled.translate("<\u00E9> \uD83D\uDE00"));
+    }
+}
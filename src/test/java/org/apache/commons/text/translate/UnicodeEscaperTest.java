@@ -49,4 +49,22 @@ class UnicodeEscaperTest {
         final String result = escaper.translate(input);
         assertEquals("AD\\u0046\\u0047Z", result, "Failed to escape Unicode characters via the between method");
     }
+
+    @Test
+    void testSupplementary() {
+        final UnicodeEscaper escaper = new UnicodeEscaper();
+        assertEquals("\\u0041\\u1F600\\u10FFFF", escaper.translate("A\uD83D\uDE00\uDBFF\uDFFF"));
+        assertEquals(escaper.toUtf16Escape(0x1F600), escaper.translate("\uD83D\uDE00"));
+    }
+
+    @Test
+    void testToUtf16EscapeOverride() {
+        final UnicodeEscaper escaper = new UnicodeEscaper() {
+            @Override
+            protected String toUtf16Escape(final int codePoint) {
+                return "<" + codePoint + ">";
+            }
+        };
+        assertEquals("\\u0041<128512>", escaper.translate("A\uD83D\uDE00"));
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link Utf8Escaper}.
+ */
+class Utf8EscaperTest {
+
+    private static byte[] randomBytes(final Random random, final int length) {
+        final String alphabet = "ab <>&\"'\\/\n\t\u0000\u007f\u0085éࠀ™퟿�￿𝔸";
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        while (output.size() < length) {
+            if (random.nextInt(10) == 0) {
+                // malformed or truncated sequences
+                output.write(0x80 + random.nextInt(0x80));
+            } else {
+                final int i = random.nextInt(alphabet.length());
+                final int end = Character.isHighSurrogate(alphabet.charAt(i)) ? i + 2 : i + 1;
+                final byte[] bytes = alphabet.substring(i, Math.min(end, alphabet.length())).getBytes(StandardCharsets.UTF_8);
+                output.write(bytes, 0, bytes.length);
+            }
+        }
+        return output.toByteArray();
+    }
+
+    private static void assertEscape(final CharSequenceTranslator translator, final Utf8Escaper escaper) throws IOException {
+        final Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            final byte[] input = randomBytes(random, random.nextInt(60));
+            final byte[] expected = translator.translate(new String(input, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(expected, escaper.escape(input), () -> Arrays.toString(input));
+            // direct input
+            final ByteBuffer direct = ByteBuffer.allocateDirect(input.length);
+            direct.put(input).flip();
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            escaper.escape(direct, stream);
+            assertEquals(direct.limit(), direct.position());
+            assertArrayEquals(expected, stream.toByteArray());
+            // small output buffers
+            final ByteBuffer heap = ByteBuffer.wrap(input);
+            final ByteBuffer output = ByteBuffer.allocateDirect(16);
+            stream.reset();
+            boolean done;
+            do {
+                done = escaper.escape(heap, output);
+                output.flip();
+                while (output.hasRemaining()) {
+                    stream.write(output.get());
+                }
+                output.clear();
+            } while (!done);
+            assertArrayEquals(expected, stream.toByteArray());
+        }
+    }
+
+    @Test
+    void testEscapeHtml4() throws IOException {
+        assertEscape(StringEscapeUtils.ESCAPE_HTML4, StringEscapeUtils.ESCAPE_HTML4_UTF8);
+    }
+
+    @Test
+    void testEscapeJson() throws IOException {
+        assertEscape(StringEscapeUtils.ESCAPE_JSON, StringEscapeUtils.ESCAPE_JSON_UTF8);
+    }
+
+    @Test
+    void testEscapeXml10() throws IOException {
+        assertEscape(StringEscapeUtils.ESCAPE_XML10, StringEscapeUtils.ESCAPE_XML10_UTF8);
+    }
+
+    @Test
+    void testEscapeXml11() throws IOException {
+        assertEscape(StringEscapeUtils.ESCAPE_XML11, StringEscapeUtils.ESCAPE_XML11_UTF8);
+    }
+
+    @Test
+    void testOutputTooSmall() {
+        final ByteBuffer input = ByteBuffer.wrap("aé<".getBytes(StandardCharsets.UTF_8));
+        final ByteBuffer output = ByteBuffer.allocate(2);
+        // the 2 bytes of é do not fit after the 'a'
+        assertFalse(StringEscapeUtils.ESCAPE_XML10_UTF8.escape(input, output));
+        assertEquals(1, input.position());
+        assertEquals(1, output.position());
+        output.clear();
+        assertFalse(StringEscapeUtils.ESCAPE_XML10_UTF8.escape(input, output));
+        assertEquals(3, input.position());
+        output.clear();
+        output.limit(0);
+        assertFalse(StringEscapeUtils.ESCAPE_XML10_UTF8.escape(input, output));
+        assertEquals(3, input.position());
+        assertTrue(StringEscapeUtils.ESCAPE_XML10_UTF8.escape(input, ByteBuffer.allocate(4)));
+    }
+
+    @Test
+    void testTranslatorWithLookahead() {
+        assertThrows(IllegalArgumentException.class, () -> new Utf8Escaper(StringEscapeUtils.ESCAPE_CSV));
+        assertThrows(IllegalArgumentException.class, () -> new Utf8Escaper(StringEscapeUtils.UNESCAPE_HTML4));
+        // a key of 2 chars other than a surrogate pair spans 2 code points
+        final LookupTranslator pair = new LookupTranslator(Collections.singletonMap("ab", "X"));
+        assertThrows(IllegalArgumentException.class, () -> new Utf8Escaper(pair));
+        assertThrows(IllegalArgumentException.class, () -> new Utf8Escaper(new AggregateTranslator(pair, new UnicodeEscaper()).compile()));
+        final LookupTranslator supplementary = new LookupTranslator(Collections.singletonMap("\uD83D\uDE00", "X"));
+        assertArrayEquals("aXb".getBytes(StandardCharsets.UTF_8), new Utf8Escaper(supplementary).escape("a\uD83D\uDE00b".getBytes(StandardCharsets.UTF_8)));
+        new Utf8Escaper(new AggregateTranslator(supplementary, new UnicodeEscaper()).compile());
+    }
+
+}